@@ -0,0 +1,56 @@
+package benchmark;
+
+import exception.FileProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.FileChunker;
+import service.FusedChunkProcessor;
+import service.LineAnalyses;
+import service.LineAnalysis;
+import service.MultiThreadedProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Dört analiz: her biri için dosyayı ayrı ayrı işlemek ile tek geçişte (fused) işlemek
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalysisBenchmark {
+
+    private final List<LineAnalysis<?>> analyses = List.of(LineAnalyses.lineStats(), LineAnalyses.wordCounts(),
+            LineAnalyses.charClasses(), LineAnalyses.patterns("^Java\\b", "ing\\b"));
+    private final FusedChunkProcessor fused = new FusedChunkProcessor(analyses);
+
+    @Benchmark
+    public List<Object> separatePasses(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        MultiThreadedProcessor processor = mappedProcessor(threads);
+        List<Object> results = new ArrayList<>();
+        for (LineAnalysis<?> analysis : analyses) {
+            results.add(BenchmarkRunner.checkResult("separatePasses", processor.processFile(input.filename, analysis)));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public FusedChunkProcessor.Results fused(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        return BenchmarkRunner.checkResult("fused", mappedProcessor(threads).processFile(input.filename, fused));
+    }
+
+    private static MultiThreadedProcessor mappedProcessor(Params.Threads threads) {
+        return new MultiThreadedProcessor(threads.threads, new FileChunker(FileChunker.Mode.MAPPED, 1024 * 1024));
+    }
+}
@@ -0,0 +1,41 @@
+package benchmark;
+
+import model.FileChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import service.FileChunker;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkingBenchmark {
+
+    @Benchmark
+    public List<FileChunk<String>> createChunksLines(Params.Input input) throws IOException {
+        return new FileChunker(1000).createChunks(input.filename);
+    }
+
+    // Chunk'lar tutulmadan tüketilir; sadece mmap + decode maliyeti ölçülür
+    @Benchmark
+    public long iterateChunksMapped(Params.Input input, Params.ChunkSize chunkSize) throws IOException {
+        FileChunker chunker = new FileChunker(FileChunker.Mode.MAPPED, chunkSize.chunkSize);
+        long bytes = 0;
+        Iterator<FileChunk<String>> chunks = chunker.iterateChunks(input.filename);
+        while (chunks.hasNext()) {
+            bytes += chunks.next().getSize();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.FileChunk;
+import model.ProcessingResult;
+import model.WordCounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.FileChunker;
+import service.WordProcessor;
+import service.WordTokenizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tek bir chunk üzerinde tokenize ve sayım: String ve byte (UTF-8) yolları. Chunk 16 MB'lık
+ * girdinin ilk MAPPED chunk'ıdır, boyutu chunkSize parametresiyle seçilir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CountingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Chunk {
+        @Param({"65536", "1048576"})
+        public int chunkSize;
+
+        FileChunk<String> text;
+        FileChunk<ByteBuffer> bytes;
+
+        @Setup(Level.Trial)
+        public void load() throws IOException {
+            String filename = BenchmarkFiles.inputFile(16);
+            FileChunker chunker = new FileChunker(FileChunker.Mode.MAPPED, chunkSize);
+            text = chunker.iterateChunks(filename).next();
+            bytes = chunker.iterateByteChunks(filename).next();
+        }
+    }
+
+    private final WordTokenizer tokenizer = new WordTokenizer();
+    private final WordProcessor processor = new WordProcessor();
+
+    @Benchmark
+    public int tokenize(Chunk chunk) {
+        return tokenizer.tokenize(chunk.text.getData(), (buffer, length) -> { });
+    }
+
+    @Benchmark
+    public ProcessingResult<WordCounts> processChunk(Chunk chunk) {
+        return BenchmarkRunner.checkResult("processChunk", processor.processChunk(chunk.text));
+    }
+
+    @Benchmark
+    public int tokenizeBytes(Chunk chunk) {
+        return tokenizer.tokenize(chunk.bytes.getData(), (buffer, length) -> { });
+    }
+
+    @Benchmark
+    public ProcessingResult<WordCounts> processByteChunk(Chunk chunk) {
+        return BenchmarkRunner.checkResult("processByteChunk", processor.processByteChunk(chunk.bytes));
+    }
+}
@@ -0,0 +1,126 @@
+package benchmark;
+
+import model.FileChunk;
+import model.IdCounts;
+import model.ProcessingResult;
+import model.WordCounts;
+import model.WordDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.FileChunker;
+import service.ResultMerger;
+import service.WordProcessor;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Chunk sonuçlarının birleştirilmesi: chunk başına kelime tabloları ve paylaşılan sözlüklü id
+ * sayımları. Merge girdileri değiştirmediği için aynı chunk sonuçları her çağrıda tekrar kullanılır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ChunkResults {
+        @Param({"1", "16"})
+        public int sizeMB;
+
+        @Param({"65536", "1048576"})
+        public int chunkSize;
+
+        @Param({"1", "4"})
+        public int threads;
+
+        List<ProcessingResult<WordCounts>> tables;
+        List<ProcessingResult<WordCounts>> ids;
+        ExecutorService executor;
+        ResultMerger merger;
+
+        @Setup(Level.Trial)
+        public void count() throws IOException {
+            WordProcessor processor = new WordProcessor();
+            List<FileChunk<String>> chunks = new FileChunker(FileChunker.Mode.MAPPED, chunkSize)
+                    .createChunks(BenchmarkFiles.inputFile(sizeMB));
+            WordDictionary dictionary = new WordDictionary();
+            tables = new ArrayList<>();
+            ids = new ArrayList<>();
+            for (FileChunk<String> chunk : chunks) {
+                tables.add(BenchmarkRunner.checkResult("processChunk", processor.processChunk(chunk)));
+                ids.add(BenchmarkRunner.checkResult("processChunk(ids)", processor.processChunk(chunk, new IdCounts(dictionary))));
+            }
+
+            // Chunk sonuçlarının tuttuğu heap: tablolar ile id sayımları (ölçüme dahil değil, bilgi için)
+            long tableBytes = retainedBytes(() -> {
+                List<ProcessingResult<WordCounts>> results = new ArrayList<>();
+                chunks.forEach(chunk -> results.add(processor.processChunk(chunk)));
+                return results;
+            });
+            long idBytes = retainedBytes(() -> {
+                WordDictionary shared = new WordDictionary();
+                List<ProcessingResult<WordCounts>> results = new ArrayList<>();
+                chunks.forEach(chunk -> results.add(processor.processChunk(chunk, new IdCounts(shared))));
+                return results;
+            });
+            System.out.printf("%nChunk sonuçlarının tuttuğu heap (%d chunk): tablolar %,d B, id sayımları %,d B%n",
+                    chunks.size(), tableBytes, idBytes);
+
+            executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+            merger = new ResultMerger(executor);
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            if (executor != null) executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public WordCounts merge(ChunkResults results) throws InterruptedException, ExecutionException {
+        return BenchmarkRunner.checkResult("merge", results.merger.merge(results.tables));
+    }
+
+    @Benchmark
+    public WordCounts mergeIds(ChunkResults results) throws InterruptedException, ExecutionException {
+        return BenchmarkRunner.checkResult("mergeIds", results.merger.merge(results.ids));
+    }
+
+    // Nesne grafiğinin yaklaşık heap boyutu: oluşturmadan önce ve sonra GC'den sonraki kullanım farkı
+    private static long retainedBytes(Supplier<Object> factory) {
+        long before = usedHeapAfterGc();
+        Object retained = factory.get();
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(retained);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Benchmark'ların ortak parametreleri. Her parametre kendi state'indedir; JMH bir benchmark'ı
+ * sadece aldığı state'lerin parametreleriyle çoğaltır, örneğin tek thread'li işlemci thread
+ * sayısına göre tekrar çalıştırılmaz. Değerler komut satırından {@code -p threads=1,8} ile değiştirilebilir.
+ */
+public final class Params {
+
+    private Params() {
+    }
+
+    // Girdi dosyası TestFileGenerator ile üretilir, varsa tekrar kullanılır
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"1", "16"})
+        public int sizeMB;
+
+        public String filename;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            filename = BenchmarkFiles.inputFile(sizeMB);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ChunkSize {
+        @Param({"65536", "1048576"})
+        public int chunkSize;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Threads {
+        @Param({"1", "4"})
+        public int threads;
+    }
+
+    // İşlemcilerin raporları ölçüm sırasında System.out'a yazılmaz
+    @State(Scope.Benchmark)
+    public static class Quiet {
+        private PrintStream originalOut;
+
+        @Setup(Level.Trial)
+        public void silence() {
+            originalOut = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        @TearDown(Level.Trial)
+        public void restore() {
+            System.setOut(originalOut);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import exception.FileProcessingException;
+import model.WordCounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import service.FileChunker;
+import service.ForkJoinProcessor;
+import service.MultiThreadedProcessor;
+import service.ProducerConsumerProcessor;
+import service.SingleThreadedProcessor;
+import service.WordCountPipelines;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her işlemcinin uçtan uca çalışması. İşlemciler hata olunca null döndüğü için her sonuç
+ * {@link BenchmarkRunner#checkResult} ile kontrol edilir; hatalı bir çalışma ölçüm sayılmaz.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmark {
+
+    private static final int READ_SIZE = 256 * 1024;
+
+    @Benchmark
+    public WordCounts singleThreaded(Params.Input input, Params.Quiet quiet) {
+        return BenchmarkRunner.checkResult("singleThreaded",
+                new SingleThreadedProcessor().processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts multiThreadedLines(Params.Input input, Params.Threads threads, Params.Quiet quiet) {
+        return BenchmarkRunner.checkResult("multiThreadedLines",
+                new MultiThreadedProcessor(threads.threads).processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts multiThreadedMapped(Params.Input input, Params.Threads threads, Params.ChunkSize chunkSize,
+                                          Params.Quiet quiet) {
+        MultiThreadedProcessor processor = new MultiThreadedProcessor(
+                threads.threads, new FileChunker(FileChunker.Mode.MAPPED, chunkSize.chunkSize));
+        return BenchmarkRunner.checkResult("multiThreadedMapped", processor.processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts multiThreadedMappedBytes(Params.Input input, Params.Threads threads, Params.ChunkSize chunkSize,
+                                               Params.Quiet quiet) {
+        MultiThreadedProcessor processor = new MultiThreadedProcessor(
+                threads.threads, new FileChunker(FileChunker.Mode.MAPPED, chunkSize.chunkSize));
+        processor.setByteLevelCounting(true);
+        return BenchmarkRunner.checkResult("multiThreadedMappedBytes", processor.processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts multiThreadedMappedIds(Params.Input input, Params.Threads threads, Params.ChunkSize chunkSize,
+                                             Params.Quiet quiet) {
+        MultiThreadedProcessor processor = new MultiThreadedProcessor(
+                threads.threads, new FileChunker(FileChunker.Mode.MAPPED, chunkSize.chunkSize));
+        processor.setByteLevelCounting(true);
+        processor.setSharedDictionary(true);
+        return BenchmarkRunner.checkResult("multiThreadedMappedIds", processor.processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts forkJoin(Params.Input input, Params.Threads threads, Params.ChunkSize chunkSize,
+                               Params.Quiet quiet) {
+        return BenchmarkRunner.checkResult("forkJoin",
+                new ForkJoinProcessor(threads.threads, chunkSize.chunkSize).processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts producerConsumer(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        return BenchmarkRunner.checkResult("producerConsumer",
+                new ProducerConsumerProcessor(100, threads.threads, 1000).processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts producerConsumerAsyncReads(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        ProducerConsumerProcessor processor = new ProducerConsumerProcessor(100, threads.threads, 1000);
+        processor.setAsyncReads(8, READ_SIZE);
+        return BenchmarkRunner.checkResult("producerConsumerAsyncReads", processor.processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts producerConsumerLocal(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        ProducerConsumerProcessor processor = new ProducerConsumerProcessor(100, threads.threads, 1000);
+        processor.setLocalAccumulation(true);
+        return BenchmarkRunner.checkResult("producerConsumerLocal", processor.processFile(input.filename));
+    }
+
+    @Benchmark
+    public WordCounts pipelineProducerConsumer(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        return BenchmarkRunner.checkResult("pipelineProducerConsumer",
+                WordCountPipelines.producerConsumer(input.filename, 100, threads.threads, 1000, false).run());
+    }
+
+    @Benchmark
+    public WordCounts pipelineStaged(Params.Input input, Params.Threads threads, Params.Quiet quiet)
+            throws FileProcessingException {
+        return BenchmarkRunner.checkResult("pipelineStaged",
+                WordCountPipelines.staged(input.filename, 1024 * 1024, threads.threads, threads.threads, 8).run());
+    }
+}
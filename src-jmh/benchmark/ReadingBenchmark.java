@@ -0,0 +1,67 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.AsyncFileReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sadece okuma (tarama/sayım yok): sıralı FileChannel.read ile AsyncFileReader'ın aynı anda
+ * queueDepth okuma uçuşta tutması. MB/s, dosya boyutu / ms/op'tur.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadingBenchmark {
+
+    private static final int READ_SIZE = 256 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class QueueDepth {
+        @Param({"1", "4", "16"})
+        public int queueDepth;
+    }
+
+    @Benchmark
+    public long fileChannelRead(Params.Input input) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(input.filename), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_SIZE);
+            long total = 0;
+            int read;
+            while ((read = channel.read(buffer)) > 0) {
+                total += read;
+                buffer.clear();
+            }
+            return total;
+        }
+    }
+
+    @Benchmark
+    public long asyncFileReader(Params.Input input, QueueDepth depth) throws IOException, InterruptedException {
+        try (AsyncFileReader reader = new AsyncFileReader(Path.of(input.filename), depth.queueDepth, READ_SIZE)) {
+            long total = 0;
+            ByteBuffer block;
+            while ((block = reader.next()) != null) {
+                total += block.remaining();
+                reader.release(block);
+            }
+            return total;
+        }
+    }
+}
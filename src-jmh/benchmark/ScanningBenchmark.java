@@ -0,0 +1,105 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.WordTokenizer;
+import util.ByteScanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skaler ve vektörel ByteScanner: byte tokenize ve satır sonu arama, ASCII ve karışık Türkçe UTF-8
+ * girdide. Vektörel tarayıcı yüklenemezse (src-vector derlenmemiş ya da JVM
+ * {@code --add-modules jdk.incubator.vector} ile başlatılmamış) vector parametreli çalışmalar hata verir.
+ * Ölçümden önce iki tarayıcının aynı kelimeleri ürettiği kontrol edilir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanningBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"16"})
+        public int sizeMB;
+
+        @Param({"ascii", "turkish"})
+        public String text;
+
+        @Param({"scalar", "vector"})
+        public String scanner;
+
+        byte[] bytes;
+        ByteBuffer data;
+        ByteScanner byteScanner;
+        WordTokenizer tokenizer;
+
+        @Setup(Level.Trial)
+        public void load() throws IOException {
+            String filename = text.equals("ascii")
+                    ? BenchmarkFiles.inputFile(sizeMB)
+                    : BenchmarkFiles.turkishInputFile(sizeMB);
+            bytes = Files.readAllBytes(Path.of(filename));
+            data = ByteBuffer.wrap(bytes);
+
+            if (scanner.equals("scalar")) {
+                byteScanner = ByteScanner.scalar();
+            } else {
+                byteScanner = ByteScanner.vectorized();
+                if (byteScanner == null) {
+                    throw new IllegalStateException("Vector scanner unavailable: compile src-vector and run with"
+                            + " --add-modules jdk.incubator.vector");
+                }
+                for (Locale locale : new Locale[]{Locale.ROOT, Locale.forLanguageTag("tr")}) {
+                    List<String> expected = tokens(new WordTokenizer(locale, ByteScanner.scalar()), data);
+                    if (!expected.equals(tokens(new WordTokenizer(locale, byteScanner), data))) {
+                        throw new IllegalStateException("Vector tokenizer output differs on " + filename + " (" + locale + ")");
+                    }
+                }
+            }
+            tokenizer = new WordTokenizer(Locale.ROOT, byteScanner);
+        }
+    }
+
+    @Benchmark
+    public int tokenizeBytes(Input input) {
+        return input.tokenizer.tokenize(input.data, (buffer, length) -> { });
+    }
+
+    @Benchmark
+    public int countLines(Input input) {
+        ByteScanner scanner = input.byteScanner;
+        byte[] bytes = input.bytes;
+        int lines = 0;
+        for (int i = scanner.indexOf(bytes, 0, bytes.length, (byte) '\n'); i >= 0;
+                 i = scanner.indexOf(bytes, i + 1, bytes.length, (byte) '\n')) {
+            lines++;
+        }
+        return lines;
+    }
+
+    private static List<String> tokens(WordTokenizer tokenizer, ByteBuffer data) {
+        List<String> tokens = new ArrayList<>();
+        tokenizer.tokenize(data, (buffer, length) -> tokens.add(new String(buffer, 0, length)));
+        return tokens;
+    }
+}
@@ -0,0 +1,104 @@
+package service;
+
+import benchmark.BenchmarkFiles;
+import model.ApproximateCounts;
+import model.WordCounts;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Yaklaşık modun doğruluğu, aynı Zipf dağılımlı dosyanın kesin sayımına göre. Girdi sabit tohumla
+ * üretildiği için sonuçlar her çalışmada aynıdır; sınırlar yine de özetlerin garantilerinden gelir.
+ */
+class ApproximateCountingTest {
+
+    private static final int SIZE_MB = 4;
+    private static final int VOCABULARY = 100_000;
+    private static final int THREADS = 4;
+    private static final int CHUNK_BYTES = 256 * 1024;     // Birden fazla chunk: özetlerin birleştirilmesi de test edilir
+
+    private static final double CARDINALITY_ERROR = 0.01;
+    private static final double FREQUENCY_ERROR = 0.0005;
+    private static final double FAILURE_PROBABILITY = 0.01;
+    private static final int HEAVY_HITTERS = 256;
+    private static final int K = 20;
+
+    @TempDir
+    static Path directory;
+
+    private static WordCounts exact;
+    private static ApproximateCounts approx;
+
+    @BeforeAll
+    static void countBothWays() throws Exception {
+        String filename = directory.resolve("zipf.txt").toString();
+        BenchmarkFiles.generateZipfFile(filename, SIZE_MB, VOCABULARY);
+
+        MultiThreadedProcessor processor =
+                new MultiThreadedProcessor(THREADS, new FileChunker(FileChunker.Mode.MAPPED, CHUNK_BYTES));
+        processor.setByteLevelCounting(true);
+
+        // İşlemci raporları test çıktısına karışmasın
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            exact = processor.processFile(filename);
+            approx = processor.processFileApproximate(filename, new ApproximateCounts(
+                    CARDINALITY_ERROR, FREQUENCY_ERROR, FAILURE_PROBABILITY, HEAVY_HITTERS));
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertNotNull(exact, "exact count failed");
+    }
+
+    // HyperLogLog'un standart hatası CARDINALITY_ERROR; 3 standart sapma dışı tahmin hatadır
+    @Test
+    void distinctEstimateWithinHyperLogLogBound() {
+        long distinct = exact.size();
+        double error = Math.abs(approx.getDistinctEstimate() - distinct) / (double) distinct;
+        assertTrue(error <= 3 * CARDINALITY_ERROR,
+                "distinct estimate " + approx.getDistinctEstimate() + " vs exact " + distinct
+                        + ": relative error " + error);
+    }
+
+    // Count-Min sadece fazla sayar: tahmin her kelime için gerçek sayıdan küçük olamaz,
+    // sınırı aşan kelimelerin oranı da FAILURE_PROBABILITY'yi geçmemeli
+    @Test
+    void countMinNeverUnderestimates() {
+        long bound = approx.getErrorBound();
+        long[] stats = new long[2];   // eksik tahmin, sınırı aşan
+        exact.forEach((word, count) -> {
+            long diff = approx.estimate(word) - count;
+            if (diff < 0) stats[0]++;
+            if (diff > bound) stats[1]++;
+        });
+        assertEquals(0, stats[0], "words estimated below their exact count");
+        assertTrue(stats[1] <= FAILURE_PROBABILITY * exact.size(),
+                stats[1] + " of " + exact.size() + " words exceed the error bound " + bound);
+    }
+
+    // Sınırdaki eşit sayılar top-K'yı belirsiz yapabilir, bu yüzden bir kelimelik fark kabul edilir
+    @Test
+    void topKRecall() {
+        List<Map.Entry<String, Integer>> exactTop = exact.top(K);
+        Set<String> exactWords = new HashSet<>();
+        exactTop.forEach(e -> exactWords.add(e.getKey()));
+
+        long hits = approx.top(K).stream().filter(e -> exactWords.contains(e.getKey())).count();
+        assertEquals(K, exactTop.size());
+        assertTrue(hits >= K - 1, "top-" + K + " recall " + hits + "/" + K);
+    }
+}
@@ -0,0 +1,84 @@
+package util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ByteScanner}'ın jdk.incubator.vector ile gerçeklemesi: her karşılaştırma bir vektör
+ * genişliğinde (AVX2'de 32, AVX-512'de 64 byte) yapılır ve sonuç bit maskesi olarak alınır.
+ * <p>
+ * Bu sınıf {@code src-vector} altındadır ve {@code --add-modules jdk.incubator.vector} ile derlenip
+ * çalıştırılmalıdır; {@link ByteScanner#best()} onu yansıma ile yükler. Tercih edilen vektör
+ * genişliği 16 byte'tan küçükse (vektör birimi yoksa) constructor hata verir ve skaler yol kullanılır.
+ */
+public final class VectorByteScanner implements ByteScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    public VectorByteScanner() {
+        if (LANES < 16 || BLOCK % LANES != 0) {
+            throw new UnsupportedOperationException("No usable vector width: " + LANES + " bytes");
+        }
+    }
+
+    @Override
+    public int indexOf(byte[] bytes, int from, int to, byte value) {
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            long hits = ByteVector.fromArray(SPECIES, bytes, i).eq(value).toLong();
+            if (hits != 0) return i + Long.numberOfTrailingZeros(hits);
+        }
+        for (; i < to; i++) {
+            if (bytes[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(byte[] bytes, int from, int to, byte value) {
+        int i = to;
+        for (int bound = from + LANES; i >= bound; i -= LANES) {
+            long hits = ByteVector.fromArray(SPECIES, bytes, i - LANES).eq(value).toLong();
+            if (hits != 0) return i - LANES + 63 - Long.numberOfLeadingZeros(hits);
+        }
+        for (i--; i >= from; i--) {
+            if (bytes[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public long wordMask(byte[] bytes, int offset) {
+        long mask = 0;
+        for (int part = 0; part < BLOCK; part += LANES) {
+            ByteVector v = ByteVector.fromArray(SPECIES, bytes, offset + part);
+            // (b | 0x20) - 'a' < 26 ve b - '0' < 10, işaretsiz karşılaştırma
+            long letters = v.or((byte) 0x20).sub((byte) 'a').compare(VectorOperators.UNSIGNED_LT, (byte) 26).toLong();
+            long digits = v.sub((byte) '0').compare(VectorOperators.UNSIGNED_LT, (byte) 10).toLong();
+            mask |= (letters | digits) << part;
+        }
+        return mask;
+    }
+
+    @Override
+    public long nonAsciiMask(byte[] bytes, int offset) {
+        long mask = 0;
+        for (int part = 0; part < BLOCK; part += LANES) {
+            ByteVector v = ByteVector.fromArray(SPECIES, bytes, offset + part);
+            mask |= v.compare(VectorOperators.LT, (byte) 0).toLong() << part;
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + LANES * 8 + "-bit)";
+    }
+}
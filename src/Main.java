@@ -1,9 +1,26 @@
 import exception.FileProcessingException;
+import model.ApproximateCounts;
+import model.CharClassCounts;
+import model.LineStats;
+import model.PatternCounts;
+import model.WordCountTable;
+import model.WordCounts;
+import service.FileChunker;
+import service.ForkJoinProcessor;
+import service.FusedChunkProcessor;
+import service.LineAnalyses;
+import service.LineAnalysis;
 import service.MultiThreadedProcessor;
+import service.Pipeline;
 import service.ProducerConsumerProcessor;
 import service.SingleThreadedProcessor;
+import service.WordCountPipelines;
 import util.SimpleFileReader;
 import util.TestFileGenerator;
+import util.WordIndexReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class Main {
     public static void main(String[] args) throws FileProcessingException {
@@ -26,9 +43,76 @@ public class Main {
         MultiThreadedProcessor multiProcessor = new MultiThreadedProcessor(4);
         multiProcessor.processFile(filename);
         System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== MULTI THREADED - MEMORY MAPPED (4 threads, 128 KB chunks) ===");
+        MultiThreadedProcessor mappedProcessor =
+                new MultiThreadedProcessor(4, new FileChunker(FileChunker.Mode.MAPPED, 128 * 1024));
+        mappedProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== MULTI THREADED - EXTERNAL AGGREGATION (4 threads, 8 MB table budget) ===");
+        MultiThreadedProcessor spillingProcessor =
+                new MultiThreadedProcessor(4, new FileChunker(FileChunker.Mode.MAPPED, 128 * 1024));
+        spillingProcessor.setByteLevelCounting(true);
+        try (WordIndexReader index = spillingProcessor.processFileToIndex(
+                filename, Path.of("test_large.wix"), 8L * 1024 * 1024)) {
+            System.out.println("Top 5: " + index.top(5));
+        } catch (IOException e) {
+            throw new FileProcessingException("Could not close index", e);
+        }
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== MULTI THREADED - APPROXIMATE (HyperLogLog + Count-Min + Space-Saving) ===");
+        MultiThreadedProcessor approximateProcessor =
+                new MultiThreadedProcessor(4, new FileChunker(FileChunker.Mode.MAPPED, 128 * 1024));
+        approximateProcessor.setByteLevelCounting(true);
+        ApproximateCounts approximate = approximateProcessor.processFileApproximate(filename, new ApproximateCounts());
+        System.out.println("Top 5 (tahmini): " + approximate.top(5));
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== FORK/JOIN (4 threads) ===");
+        ForkJoinProcessor forkJoinProcessor = new ForkJoinProcessor(4);
+        forkJoinProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
         System.out.println("\n=== PRODUCER-CONSUMER ===");
         // DÜZELTME: Constructor 3 parametre almalı + syntax error düzeltildi
         ProducerConsumerProcessor pcProcessor = new ProducerConsumerProcessor(100, 4, 1000);
         pcProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== PRODUCER-CONSUMER (consumer-local accumulation) ===");
+        ProducerConsumerProcessor localProcessor = new ProducerConsumerProcessor(100, 4, 1000);
+        localProcessor.setLocalAccumulation(true);
+        localProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== PRODUCER-CONSUMER (256 KB chunks, 8 MB in-flight budget) ===");
+        ProducerConsumerProcessor budgetProcessor = new ProducerConsumerProcessor(100, 4, 1000);
+        budgetProcessor.setChunkBytes(256 * 1024);
+        budgetProcessor.setMaxInFlightBytes(8L * 1024 * 1024);
+        budgetProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== PRODUCER-CONSUMER (adaptive, 1-8 consumers) ===");
+        ProducerConsumerProcessor adaptiveProcessor = new ProducerConsumerProcessor(100, 4, 1000);
+        adaptiveProcessor.setAdaptiveConsumers(1, 8);
+        adaptiveProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== PRODUCER-CONSUMER (async reads, 8 in flight) ===");
+        ProducerConsumerProcessor asyncProcessor = new ProducerConsumerProcessor(100, 4, 1000);
+        asyncProcessor.setAsyncReads(8, 256 * 1024);
+        asyncProcessor.processFile(filename);
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== PIPELINE (read -> split -> tokenize -> count -> merge) ===");
+        Pipeline<WordCounts> pipeline = WordCountPipelines.staged(filename, 1024 * 1024, 3, 1, 8);
+        System.out.println("Total unique words: " + pipeline.run().size());
+        pipeline.printReport();
+        System.out.println("-------------------------------------------------------------------------------------------");
+        System.out.println("\n=== FUSED ANALYSES (lines, words, char classes, patterns in one pass) ===");
+        LineAnalysis<LineStats> lines = LineAnalyses.lineStats();
+        LineAnalysis<WordCountTable> words = LineAnalyses.wordCounts();
+        LineAnalysis<CharClassCounts> charClasses = LineAnalyses.charClasses();
+        LineAnalysis<PatternCounts> patterns = LineAnalyses.patterns("^Java\\b", "ing\\b");
+        MultiThreadedProcessor analysisProcessor =
+                new MultiThreadedProcessor(4, new FileChunker(FileChunker.Mode.MAPPED, 128 * 1024));
+        FusedChunkProcessor.Results results = analysisProcessor.processFile(
+                filename, new FusedChunkProcessor(lines, words, charClasses, patterns));
+        System.out.println(results.get(lines));
+        System.out.println("Total unique words: " + results.get(words).size());
+        System.out.println(results.get(charClasses));
+        System.out.println(results.get(patterns));
     }
 }
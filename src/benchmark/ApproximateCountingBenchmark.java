@@ -0,0 +1,64 @@
+package benchmark;
+
+import model.ApproximateCounts;
+import service.FileChunker;
+import service.MultiThreadedProcessor;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+/**
+ * Yaklaşık modu (HyperLogLog + Count-Min + Space-Saving) kesin sayımla süre ve bellek olarak
+ * karşılaştırır. Girdi Zipf dağılımlı, yüksek kardinaliteli bir dosyadır
+ * (bench_zipf_&lt;MB&gt;mb_&lt;kelime&gt;.txt). Doğruluk (farklı kelime hatası, Count-Min'in alt sınırı,
+ * top-K isabeti) build'in çalıştırdığı ApproximateCountingTest'te kontrol edilir.
+ * <p>
+ * Kullanım: ApproximateCountingBenchmark [boyutMB] [kelimeDağarcığı] [threads]
+ */
+public class ApproximateCountingBenchmark {
+
+    private static final int CHUNK_BYTES = 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        int sizeMB = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int vocabulary = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        String filename = BenchmarkFiles.zipfInputFile(sizeMB, vocabulary);
+
+        MultiThreadedProcessor processor =
+                new MultiThreadedProcessor(threads, new FileChunker(FileChunker.Mode.MAPPED, CHUNK_BYTES));
+        processor.setByteLevelCounting(true);
+
+        BenchmarkRunner runner = new BenchmarkRunner(1, 3);
+        String params = "size=" + sizeMB + "MB vocab=" + vocabulary + " threads=" + threads;
+        runner.run("MultiThreadedProcessor.processFile", params, () -> processor.processFile(filename));
+        runner.run("MultiThreadedProcessor.processFileApproximate", params, () -> approximate(processor, filename));
+        runner.printSummary();
+
+        long distinct = BenchmarkRunner.checkResult("processFile", quietly(() -> processor.processFile(filename))).size();
+        ApproximateCounts approx = quietly(() -> approximate(processor, filename));
+        System.out.printf("%nBellek: özet %,d KB (sabit), kesin tablo ~%,d KB (%,d farklı kelime)%n",
+                approx.getMemoryBytes() / 1024, distinct * 64 / 1024, distinct);
+    }
+
+    // İşlemci raporları karşılaştırma çıktısına karışmasın
+    private static <T> T quietly(Supplier<T> operation) {
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return operation.get();
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    private static ApproximateCounts approximate(MultiThreadedProcessor processor, String filename) {
+        try {
+            return processor.processFileApproximate(filename, new ApproximateCounts());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
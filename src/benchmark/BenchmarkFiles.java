@@ -0,0 +1,100 @@
+package benchmark;
+
+import util.TestFileGenerator;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark girdileri. Dosyalar çalışma dizininde üretilir ve varsa tekrar kullanılır:
+ * bench_data_&lt;MB&gt;mb.txt TestFileGenerator ile, bench_turkish_&lt;MB&gt;mb.txt vektörel tarama
+ * karşılaştırması için Türkçe karakterli metinle, bench_zipf_&lt;MB&gt;mb_&lt;kelime&gt;.txt ise yaklaşık
+ * sayım için Zipf dağılımlı, yüksek kardinaliteli metinle.
+ */
+public final class BenchmarkFiles {
+
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private BenchmarkFiles() {
+    }
+
+    public static String inputFile(int sizeMB) {
+        String filename = "bench_data_" + sizeMB + "mb.txt";
+        if (!new File(filename).exists()) {
+            TestFileGenerator.generateTestFile(filename, sizeMB);
+        }
+        return filename;
+    }
+
+    // ASCII ve 2 byte'lık Türkçe harflerin karıştığı metin; arada 3 byte'lık noktalama da var
+    public static String turkishInputFile(int sizeMB) {
+        String filename = "bench_turkish_" + sizeMB + "mb.txt";
+        if (new File(filename).exists()) return filename;
+
+        String[] words = {"İstanbul", "Ankara", "çalışma", "öğrenci", "Şehir", "günaydın", "Iğdır", "Java",
+                "thread", "ölçüm", "kitap", "ÇAĞRI", "dosya", "işlemci", "bellek", "2024"};
+        String[] separators = {" ", " ", " ", ", ", ". ", " — "};
+        Random random = new Random(42);
+        long target = sizeMB * 1024L * 1024L;
+        try (BufferedWriter out = Files.newBufferedWriter(Path.of(filename), StandardCharsets.UTF_8)) {
+            long written = 0;
+            while (written < target) {
+                StringBuilder line = new StringBuilder();
+                int lineWordCount = 10 + random.nextInt(6);
+                for (int i = 0; i < lineWordCount; i++) {
+                    if (i > 0) line.append(separators[random.nextInt(separators.length)]);
+                    line.append(words[random.nextInt(words.length)]);
+                }
+                line.append('\n');
+                out.write(line.toString());
+                written += line.toString().getBytes(StandardCharsets.UTF_8).length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return filename;
+    }
+
+    public static String zipfInputFile(int sizeMB, int vocabulary) throws IOException {
+        String filename = "bench_zipf_" + sizeMB + "mb_" + vocabulary + ".txt";
+        if (!new File(filename).exists()) {
+            generateZipfFile(filename, sizeMB, vocabulary);
+        }
+        return filename;
+    }
+
+    // Sıra r'deki kelimenin olasılığı 1 / r^s ile orantılı; kelimeler "w" + sıranın 36 tabanlı hali
+    public static void generateZipfFile(String filename, int sizeMB, int vocabulary) throws IOException {
+        double[] cumulative = new double[vocabulary];
+        double sum = 0;
+        for (int r = 0; r < vocabulary; r++) {
+            sum += 1 / Math.pow(r + 1, ZIPF_EXPONENT);
+            cumulative[r] = sum;
+        }
+
+        Random random = new Random(42);
+        long target = (long) sizeMB * 1024 * 1024;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(Path.of(filename), StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder();
+            while (written < target) {
+                line.setLength(0);
+                for (int i = 0; i < 12; i++) {
+                    int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                    if (rank < 0) rank = Math.min(-rank - 1, vocabulary - 1);
+                    line.append(i == 0 ? "" : " ").append('w').append(Integer.toString(rank, 36));
+                }
+                line.append('\n');
+                out.write(line.toString());
+                written += line.length();
+            }
+        }
+    }
+}
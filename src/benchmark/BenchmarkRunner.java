@@ -0,0 +1,167 @@
+package benchmark;
+
+import model.BatchResult;
+import model.ProcessingResult;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Küçük bir mikro-benchmark çalıştırıcısı (JMH'nin avgt modu ve -prof gc çıktısına benzer).
+ * Her benchmark önce warmup iterasyonlarıyla JIT'i ısıtır, sonra ölçüm iterasyonlarının
+ * ortalama süresini, hata payını, op başına ayrılan byte'ı ve GC sayısı/süresini raporlar.
+ * Ölçüm sırasında System.out susturulur, böylece işlemcilerin raporları sonuçları bozmaz.
+ * Her çağrının sonucu {@link #checkResult} ile kontrol edilir; hata veren bir çalışma ölçüm sayılmaz.
+ * <p>
+ * JVM fork'u ve -prof gc ile asıl ölçümler {@code src-jmh} altındaki JMH benchmark'larıdır
+ * ({@code gradle jmh}); bu çalıştırıcı hızlı, tek JVM'lik karşılaştırmalar içindir.
+ */
+public class BenchmarkRunner {
+
+    private static final PrintStream NULL_OUT = new PrintStream(OutputStream.nullOutputStream());
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<Result> results = new ArrayList<>();
+
+    // JIT'in sonucu kullanılmayan hesabı silmemesi için
+    private volatile Object blackhole;
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations) {
+        if (warmupIterations < 0) throw new IllegalArgumentException("Warmup iterations must be >= 0");
+        if (measurementIterations <= 0) throw new IllegalArgumentException("Measurement iterations must be > 0");
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+    public Result run(String name, String params, Supplier<?> operation) {
+        return run(name, params, () -> null, state -> operation.get());
+    }
+
+    /**
+     * setup her çağrıdan önce çalışır ve ölçüme dahil edilmez (JMH'deki Level.Invocation gibi);
+     * örneğin merge benchmark'ı her seferinde yeni girdi tablolarına ihtiyaç duyar.
+     */
+    public <S> Result run(String name, String params, Supplier<S> setup, Function<S, ?> operation) {
+        PrintStream originalOut = System.out;
+        System.setOut(NULL_OUT);
+        try {
+            for (int i = 0; i < warmupIterations; i++) {
+                blackhole = checkResult(name, operation.apply(setup.get()));
+            }
+
+            double[] timesMs = new double[measurementIterations];
+            long allocatedBytes = 0;
+            long gcCountBefore = gcCount();
+            long gcTimeBefore = gcTime();
+
+            for (int i = 0; i < measurementIterations; i++) {
+                S state = setup.get();
+                long allocBefore = threadBean.getTotalThreadAllocatedBytes();
+                long start = System.nanoTime();
+
+                Object value = operation.apply(state);
+
+                timesMs[i] = (System.nanoTime() - start) / 1e6;
+                allocatedBytes += threadBean.getTotalThreadAllocatedBytes() - allocBefore;
+                blackhole = checkResult(name, value);
+            }
+
+            Result result = new Result(name, params, timesMs, allocatedBytes / measurementIterations,
+                    gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+            results.add(result);
+            return result;
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    /**
+     * İşlemciler hata olunca null ya da başarısız bir sonuç döner; bunlar hızlı bir çalışma gibi
+     * ölçülmemeli, benchmark durmalıdır.
+     */
+    public static <T> T checkResult(String name, T result) {
+        if (result == null) {
+            throw new IllegalStateException("Benchmark '" + name + "' returned no result");
+        }
+        if (result instanceof ProcessingResult<?> processing && !processing.isSuccessful()) {
+            throw new IllegalStateException("Benchmark '" + name + "' failed: " + processing.getErrorMessage());
+        }
+        if (result instanceof BatchResult batch && !batch.getFailedFiles().isEmpty()) {
+            throw new IllegalStateException("Benchmark '" + name + "' failed on " + batch.getFailedFiles());
+        }
+        return result;
+    }
+
+    public void printSummary() {
+        System.out.printf("%n%-40s %-36s %12s %10s %14s %6s %8s%n",
+                "Benchmark", "Params", "Score ms/op", "Error", "alloc B/op", "GCs", "GC ms");
+        for (Result r : results) {
+            System.out.printf("%-40s %-36s %12.3f %10.3f %,14d %6d %8d%n",
+                    r.name, r.params, r.meanMs, r.errorMs, r.allocatedBytesPerOp, r.gcCount, r.gcTimeMs);
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    // ================================
+    // RESULT
+    // ================================
+    public static class Result {
+        private final String name;
+        private final String params;
+        private final double meanMs;
+        private final double errorMs;
+        private final long allocatedBytesPerOp;
+        private final long gcCount;
+        private final long gcTimeMs;
+
+        Result(String name, String params, double[] timesMs, long allocatedBytesPerOp, long gcCount, long gcTimeMs) {
+            this.name = name;
+            this.params = params;
+            this.allocatedBytesPerOp = allocatedBytesPerOp;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+
+            double sum = 0;
+            for (double t : timesMs) sum += t;
+            this.meanMs = sum / timesMs.length;
+
+            // Ortalamanın standart hatasının ~%99.9 güven aralığı (JMH'deki Error sütunu gibi)
+            double variance = 0;
+            for (double t : timesMs) variance += (t - meanMs) * (t - meanMs);
+            variance = timesMs.length > 1 ? variance / (timesMs.length - 1) : 0;
+            this.errorMs = 3.29 * Math.sqrt(variance / timesMs.length);
+        }
+
+        public String getName() { return name; }
+        public String getParams() { return params; }
+        public double getMeanMs() { return meanMs; }
+        public double getErrorMs() { return errorMs; }
+        public long getAllocatedBytesPerOp() { return allocatedBytesPerOp; }
+        public long getGcCount() { return gcCount; }
+        public long getGcTimeMs() { return gcTimeMs; }
+    }
+}
@@ -0,0 +1,143 @@
+package benchmark;
+
+import exception.FileProcessingException;
+import model.FileChunk;
+import service.ProducerConsumerProcessor;
+import util.BlockingQueueHandoff;
+import util.ChunkHandoff;
+import util.RingBufferHandoff;
+import util.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * ArrayBlockingQueue kanalı ile kilitsiz ring buffer'ı (her bekleme stratejisiyle) karşılaştırır:
+ * önce sadece aktarım maliyeti (boş consumer'lar), sonra farklı chunk boyutlarında uçtan uca işlem.
+ * <p>
+ * Kullanım: HandoffBenchmark [--size 16] [--items 1000000] [--consumers 4] [--chunks 100,1000,10000] [--batch 1,8]
+ */
+public class HandoffBenchmark {
+
+    private static final int CAPACITY = 1024;
+
+    public static void main(String[] args) throws Exception {
+        int sizeMB = 16;
+        int items = 1_000_000;
+        int consumers = 4;
+        int[] chunkSizes = {100, 1000, 10000};
+        int[] batchSizes = {1, 8};
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--size": sizeMB = Integer.parseInt(args[i + 1]); break;
+                case "--items": items = Integer.parseInt(args[i + 1]); break;
+                case "--consumers": consumers = Integer.parseInt(args[i + 1]); break;
+                case "--chunks": chunkSizes = parseInts(args[i + 1]); break;
+                case "--batch": batchSizes = parseInts(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        Map<String, IntFunction<ChunkHandoff<FileChunk<String>>>> handoffs = new LinkedHashMap<>();
+        handoffs.put("BlockingQueue", BlockingQueueHandoff::new);
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            handoffs.put("RingBuffer(" + strategy + ")", capacity -> new RingBufferHandoff<>(capacity, strategy));
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(2, 5);
+        benchmarkTransfer(runner, handoffs, items, consumers, batchSizes);
+        benchmarkProcessing(runner, handoffs, BenchmarkFiles.inputFile(sizeMB), sizeMB, consumers, chunkSizes, batchSizes);
+        runner.printSummary();
+    }
+
+    // ================================
+    // PURE HAND-OFF
+    // ================================
+    private static void benchmarkTransfer(BenchmarkRunner runner,
+                                          Map<String, IntFunction<ChunkHandoff<FileChunk<String>>>> handoffs,
+                                          int items, int consumers, int[] batchSizes) {
+        FileChunk<String> item = new FileChunk<>(1, "", 0, 0);
+
+        for (Map.Entry<String, IntFunction<ChunkHandoff<FileChunk<String>>>> entry : handoffs.entrySet()) {
+            for (int batchSize : batchSizes) {
+                String params = "items=" + items + " consumers=" + consumers + " batch=" + batchSize;
+                runner.run("transfer " + entry.getKey(), params, () -> {
+                    try {
+                        return transfer(entry.getValue().apply(CAPACITY), item, items, consumers, batchSize);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    private static long transfer(ChunkHandoff<FileChunk<String>> handoff, FileChunk<String> item,
+                                 int items, int consumers, int batchSize) throws InterruptedException {
+        LongAdder received = new LongAdder();
+        CountDownLatch done = new CountDownLatch(consumers);
+
+        for (int c = 0; c < consumers; c++) {
+            Thread consumer = new Thread(() -> {
+                List<FileChunk<String>> batch = new ArrayList<>(batchSize);
+                try {
+                    int taken;
+                    while ((taken = handoff.takeBatch(batch, batchSize)) >= 0) {
+                        received.add(taken);
+                        batch.clear();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            consumer.start();
+        }
+
+        for (int i = 0; i < items; i++) {
+            handoff.put(item);
+        }
+        handoff.complete();
+        done.await();
+        return received.sum();
+    }
+
+    // ================================
+    // END-TO-END
+    // ================================
+    private static void benchmarkProcessing(BenchmarkRunner runner,
+                                            Map<String, IntFunction<ChunkHandoff<FileChunk<String>>>> handoffs,
+                                            String filename, int sizeMB, int consumers,
+                                            int[] chunkSizes, int[] batchSizes) {
+        for (Map.Entry<String, IntFunction<ChunkHandoff<FileChunk<String>>>> entry : handoffs.entrySet()) {
+            for (int chunkSize : chunkSizes) {
+                for (int batchSize : batchSizes) {
+                    ProducerConsumerProcessor processor = new ProducerConsumerProcessor(100, consumers, chunkSize);
+                    processor.setHandoffFactory(entry.getValue());
+                    processor.setConsumerBatchSize(batchSize);
+
+                    String params = "size=" + sizeMB + "MB lines=" + chunkSize + " batch=" + batchSize;
+                    runner.run("ProducerConsumer " + entry.getKey(), params, () -> {
+                        try {
+                            return processor.processFile(filename);
+                        } catch (FileProcessingException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static int[] parseInts(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(v -> Integer.parseInt(v.trim())).toArray();
+    }
+}
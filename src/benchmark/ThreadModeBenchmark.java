@@ -0,0 +1,66 @@
+package benchmark;
+
+import service.BatchProcessor;
+import service.FileChunker;
+import service.MultiThreadedProcessor;
+import service.ThreadMode;
+import util.TestFileGenerator;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Çok dosyalı işlemede platform thread havuzu ile virtual thread modunu ve paylaşılan havuzlu
+ * BatchProcessor'ı karşılaştırır.
+ * Kullanım: ThreadModeBenchmark [dosyaSayısı] [dosyaBoyutuMB] [havuzBoyutu]
+ */
+public class ThreadModeBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int MEASURED_ITERATIONS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int fileSizeMB = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        List<String> files = new ArrayList<>();
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < fileCount; i++) {
+            String filename = "bench_threadmode_" + i + ".txt";
+            if (!new File(filename).exists()) {
+                TestFileGenerator.generateTestFile(filename, fileSizeMB);
+            }
+            files.add(filename);
+            paths.add(Path.of(filename));
+        }
+
+        BenchmarkRunner runner = new BenchmarkRunner(WARMUP_ITERATIONS, MEASURED_ITERATIONS);
+        String params = "files=" + fileCount + " size=" + fileSizeMB + "MB pool=" + poolSize;
+        for (ThreadMode mode : ThreadMode.values()) {
+            MultiThreadedProcessor processor = new MultiThreadedProcessor(
+                    poolSize, new FileChunker(FileChunker.Mode.MAPPED, 128 * 1024), mode);
+
+            runner.run("MultiThreadedProcessor.processFiles(" + mode + ")", params, () -> {
+                try {
+                    return processor.processFiles(files);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        try (BatchProcessor batch = new BatchProcessor(poolSize)) {
+            runner.run("BatchProcessor.processFiles", params, () -> {
+                try {
+                    return batch.processFiles(paths);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        runner.printSummary();
+    }
+}
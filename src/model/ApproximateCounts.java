@@ -0,0 +1,145 @@
+package model;
+
+import util.CountMinSketch;
+import util.HyperLogLog;
+import util.SpaceSaving;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sabit bellekli yaklaşık sayım: farklı kelime sayısı için HyperLogLog, kelime sayıları için
+ * Count-Min Sketch, en sık kelimeler için Space-Saving. Bellek kullanımı kelime dağarcığından
+ * bağımsızdır ve sadece hata sınırlarına bağlıdır. Aynı ayarlarla oluşturulmuş iki nesne
+ * {@link #addAll(ApproximateCounts)} ile birleştirilir, böylece her chunk kendi özetini üretebilir.
+ * Thread-safe değildir.
+ */
+public class ApproximateCounts {
+
+    private static final double DEFAULT_CARDINALITY_ERROR = 0.01;
+    private static final double DEFAULT_FREQUENCY_ERROR = 0.0005;
+    private static final double DEFAULT_FAILURE_PROBABILITY = 0.01;
+    private static final int DEFAULT_HEAVY_HITTERS = 256;
+
+    private final double cardinalityError;
+    private final double frequencyError;
+    private final double failureProbability;
+    private final int heavyHitters;
+
+    private final HyperLogLog distinct;
+    private final CountMinSketch frequencies;
+    private final SpaceSaving topWords;
+
+    public ApproximateCounts() {
+        this(DEFAULT_CARDINALITY_ERROR, DEFAULT_FREQUENCY_ERROR, DEFAULT_FAILURE_PROBABILITY, DEFAULT_HEAVY_HITTERS);
+    }
+
+    /**
+     * @param cardinalityError   farklı kelime tahmininin göreli standart hatası
+     * @param frequencyError     kelime sayısı tahminindeki en büyük hata, toplam kelime sayısına oranla
+     * @param failureProbability frequencyError sınırının aşılma olasılığı
+     * @param heavyHitters       izlenen aday kelime sayısı; top(k) için k'dan birkaç kat büyük olmalı
+     */
+    public ApproximateCounts(double cardinalityError, double frequencyError, double failureProbability,
+                             int heavyHitters) {
+        this.cardinalityError = cardinalityError;
+        this.frequencyError = frequencyError;
+        this.failureProbability = failureProbability;
+        this.heavyHitters = heavyHitters;
+
+        this.distinct = HyperLogLog.withError(cardinalityError);
+        this.frequencies = CountMinSketch.withError(frequencyError, failureProbability);
+        this.topWords = new SpaceSaving(heavyHitters);
+    }
+
+    // Aynı ayarlarla boş bir özet (ör. chunk başına bir tane)
+    public ApproximateCounts emptyCopy() {
+        return new ApproximateCounts(cardinalityError, frequencyError, failureProbability, heavyHitters);
+    }
+
+    // Tokenizer buffer'ından doğrudan ekleme; String sadece Space-Saving yeni kelime izlerken oluşturulur
+    public void add(char[] buffer, int length) {
+        long hash = hash(buffer, length);
+        distinct.add(hash);
+        frequencies.add(hash, 1);
+        topWords.offer(hash, buffer, length, 1);
+    }
+
+    public void add(String word, long count) {
+        long hash = hash(word);
+        distinct.add(hash);
+        frequencies.add(hash, count);
+        topWords.offer(hash, word, count);
+    }
+
+    public void addAll(ApproximateCounts other) {
+        distinct.merge(other.distinct);
+        frequencies.merge(other.frequencies);
+        topWords.merge(other.topWords);
+    }
+
+    public long getDistinctEstimate() { return distinct.estimate(); }
+    public long getTotalCount() { return frequencies.getTotalCount(); }
+
+    // Gerçek sayıdan küçük olmaz; (1 - failureProbability) olasılıkla en fazla getErrorBound() büyüktür
+    public long estimate(String word) {
+        return frequencies.estimate(hash(word));
+    }
+
+    public long getErrorBound() { return frequencies.getErrorBound(); }
+
+    /**
+     * Tahmini en sık k kelime, azalan sırada. Adaylar Space-Saving'den gelir; her adayın sayısı
+     * Space-Saving ve Count-Min tahminlerinin küçüğüdür (ikisi de üst sınır).
+     */
+    public List<Map.Entry<String, Long>> top(int k) {
+        List<Map.Entry<String, Long>> candidates = new ArrayList<>();
+        for (SpaceSaving.Entry entry : topWords.entries()) {
+            long count = Math.min(entry.getCount(), frequencies.estimate(entry.getHash()));
+            candidates.add(new AbstractMap.SimpleImmutableEntry<>(entry.getWord(), count));
+        }
+        candidates.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return candidates.subList(0, Math.min(k, candidates.size()));
+    }
+
+    // Kelime String'leri hariç sabit bellek
+    public long getMemoryBytes() {
+        return distinct.getMemoryBytes() + frequencies.getMemoryBytes() + topWords.getMemoryBytes();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ApproximateCounts{distinct~%d, total=%d, hll=2^%d, cms=%dx%d, heavyHitters=%d}",
+                getDistinctEstimate(), getTotalCount(), distinct.getPrecision(),
+                frequencies.getDepth(), frequencies.getWidth(), heavyHitters);
+    }
+
+    // FNV-1a (char bazında) + murmur3 fmix64: HyperLogLog'un üst bitleri de iyi dağılmalı
+    static long hash(char[] buffer, int length) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ buffer[i]) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    static long hash(CharSequence word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, n = word.length(); i < n; i++) {
+            h = (h ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,33 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Çok dosyalı bir işin sonucu: dosya başına ve tüm dosyalar için kelime sayıları
+public class BatchResult {
+    private final Map<String, WordCounts> fileCounts;   // Dosya adı -> o dosyanın sayımları (girdi sırasıyla)
+    private final WordCounts total;
+    private final List<String> failedFiles;             // Okunamayan dosyalar, sayımlara dahil değil
+    private final long totalBytes;
+
+    public BatchResult(Map<String, WordCounts> fileCounts, WordCounts total, List<String> failedFiles, long totalBytes) {
+        this.fileCounts = Collections.unmodifiableMap(fileCounts);
+        this.total = total;
+        this.failedFiles = Collections.unmodifiableList(failedFiles);
+        this.totalBytes = totalBytes;
+    }
+
+    public Map<String, WordCounts> getFileCounts() { return fileCounts; }
+    public WordCounts getFileCounts(String filename) { return fileCounts.get(filename); }
+    public WordCounts getTotal() { return total; }
+    public List<String> getFailedFiles() { return failedFiles; }
+    public int getFileCount() { return fileCounts.size(); }
+    public long getTotalBytes() { return totalBytes; }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult{files=%d, failed=%d, bytes=%d, uniqueWords=%d}",
+                fileCounts.size(), failedFiles.size(), totalBytes, total.size());
+    }
+}
@@ -0,0 +1,96 @@
+package model;
+
+/**
+ * Karakter sınıfı histogramı: her code point {@link CharClass} sınıflarından birine sayılır, ASCII
+ * olmayanlar ayrıca toplanır. ASCII karakterler önceden hesaplanmış tablodan, diğerleri
+ * {@link Character#getType(int)} ile sınıflandırılır. {@link #addAll(CharClassCounts)} ile
+ * birleştirilir. Thread-safe değildir.
+ */
+public class CharClassCounts {
+
+    public enum CharClass {
+        LETTER, DIGIT, WHITESPACE, PUNCTUATION, SYMBOL, OTHER
+    }
+
+    private static final CharClass[] CLASSES = CharClass.values();
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    static {
+        for (int c = 0; c < ASCII_CLASSES.length; c++) {
+            ASCII_CLASSES[c] = (byte) classify(c).ordinal();
+        }
+    }
+
+    private final long[] counts = new long[CLASSES.length];
+    private long nonAscii;
+
+    // text[start, end) aralığındaki code point'leri sayar
+    public void count(CharSequence text, int start, int end) {
+        long[] counts = this.counts;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                counts[ASCII_CLASSES[c]]++;
+                continue;
+            }
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, text.charAt(++i));
+            }
+            counts[classify(codePoint).ordinal()]++;
+            nonAscii++;
+        }
+    }
+
+    public void addAll(CharClassCounts other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        nonAscii += other.nonAscii;
+    }
+
+    public long get(CharClass charClass) {
+        return counts[charClass.ordinal()];
+    }
+
+    public long getNonAscii() { return nonAscii; }
+
+    public long getTotal() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private static CharClass classify(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.UPPERCASE_LETTER: case Character.LOWERCASE_LETTER: case Character.TITLECASE_LETTER:
+            case Character.MODIFIER_LETTER: case Character.OTHER_LETTER:
+                return CharClass.LETTER;
+            case Character.DECIMAL_DIGIT_NUMBER: case Character.LETTER_NUMBER: case Character.OTHER_NUMBER:
+                return CharClass.DIGIT;
+            case Character.SPACE_SEPARATOR: case Character.LINE_SEPARATOR: case Character.PARAGRAPH_SEPARATOR:
+                return CharClass.WHITESPACE;
+            case Character.CONNECTOR_PUNCTUATION: case Character.DASH_PUNCTUATION: case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION: case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION: case Character.OTHER_PUNCTUATION:
+                return CharClass.PUNCTUATION;
+            case Character.MATH_SYMBOL: case Character.CURRENCY_SYMBOL: case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return CharClass.SYMBOL;
+            default:
+                // Tab, '\n', '\r' gibi kontrol karakterleri de boşluk sayılır
+                return Character.isWhitespace(codePoint) ? CharClass.WHITESPACE : CharClass.OTHER;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CharClassCounts{");
+        for (CharClass charClass : CLASSES) {
+            sb.append(charClass.name().toLowerCase()).append('=').append(get(charClass)).append(", ");
+        }
+        return sb.append("nonAscii=").append(nonAscii).append('}').toString();
+    }
+}
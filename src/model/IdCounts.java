@@ -0,0 +1,253 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Paylaşılan bir {@link WordDictionary}'nin id'leriyle tutulan sayımlar. Chunk'lar kendi kelime
+ * String'lerini tutmaz. Tablo sözlüğün önemli bir kısmını kapsadığında (ör. küçük kelime dağarcığı)
+ * sayımlar id ile indekslenen bir int dizisindedir ve aynı sözlüğü kullanan iki tablonun birleştirilmesi
+ * dizi toplamıdır; yüksek kardinalitede her chunk sözlük boyunda dizi tutmasın diye az kelimeli
+ * tablolar id -> sayı open addressing tablosu olarak başlar ve büyüyünce diziye geçer.
+ * Thread-safe değildir.
+ */
+public class IdCounts implements WordCounts {
+
+    // Dizi, kelime sayısının bu katından küçükse seyrek tablodan ucuzdur (4 byte/id vs ~13 byte/kelime)
+    private static final int DENSE_RATIO = 3;
+    private static final int DENSE_START_LIMIT = 4096;
+    private static final int SPARSE_INITIAL_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private interface IdConsumer {
+        void accept(int id, int count);
+    }
+
+    private final WordDictionary dictionary;
+    private int size;           // Sayısı sıfırdan büyük id sayısı
+
+    // Yoğun mod: id -> sayı (seyrek modda null)
+    private int[] dense;
+
+    // Seyrek mod: linear probing, anahtar id + 1 (0 = boş)
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int resizeThreshold;
+
+    public IdCounts(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+        // Küçük sözlükte chunk'lar zaten bilinen kelimeleri görür, diziyi baştan o boyda aç
+        if (dictionary.size() <= DENSE_START_LIMIT) {
+            dense = new int[Math.max(dictionary.size(), 16)];
+        } else {
+            allocateSparse(SPARSE_INITIAL_CAPACITY);
+        }
+    }
+
+    @Override
+    public WordCounts emptyCopy() {
+        return new IdCounts(dictionary);
+    }
+
+    // Tokenizer buffer'ından doğrudan artırma; String sadece sözlüğe yeni kelime eklenirken oluşturulur
+    public void increment(char[] buffer, int length) {
+        increment(dictionary.idOf(buffer, length), 1);
+    }
+
+    @Override
+    public void add(String word, int count) {
+        increment(dictionary.idOf(word), count);
+    }
+
+    @Override
+    public void addAll(WordCounts other) {
+        if (!(other instanceof IdCounts) || ((IdCounts) other).dictionary != dictionary) {
+            other.forEach(this::add);
+            return;
+        }
+
+        IdCounts source = (IdCounts) other;
+        if (source.dense != null && dense == null) {
+            toDense(source.dense.length);
+        }
+        if (source.dense != null) {
+            // Dizi toplamı
+            int[] counts = source.dense;
+            ensureDenseCapacity(counts.length);
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] != 0) {
+                    if (dense[id] == 0) size++;
+                    dense[id] += counts[id];
+                }
+            }
+        } else {
+            // Kaynak slot sırasıyla gezilir; hedef daha küçükse linear probing kümeleri oluşmasın
+            if (dense == null && keys.length < source.keys.length) {
+                growSparse(source.keys.length);
+            }
+            source.forEachId(this::increment);
+        }
+    }
+
+    @Override
+    public int get(String word) {
+        int id = dictionary.find(word);
+        if (id < 0) return 0;
+        if (dense != null) return id < dense.length ? dense[id] : 0;
+
+        int slot = indexFor(id);
+        while (keys[slot] != 0) {
+            if (keys[slot] == id + 1) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void forEach(EntryConsumer action) {
+        forEachId((id, count) -> action.accept(dictionary.word(id), count));
+    }
+
+    @Override
+    public List<Map.Entry<String, Integer>> top(int k) {
+        // k elemanlı min-heap, elemanlar {id, sayı}
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(k, 1), this::compareEntries);
+        if (k > 0) {
+            forEachId((id, count) -> {
+                int[] entry = {id, count};
+                if (heap.size() < k) {
+                    heap.add(entry);
+                } else if (compareEntries(entry, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            });
+        }
+
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int[] entry = heap.poll();
+            top.add(Map.entry(dictionary.word(entry[0]), entry[1]));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    @Override
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new HashMap<>(size * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IdCounts{size=%d, %s}", size,
+                dense != null ? "dense=" + dense.length : "sparse=" + keys.length);
+    }
+
+    private void increment(int id, int count) {
+        if (dense != null) {
+            ensureDenseCapacity(id + 1);
+            if (dense[id] == 0) size++;
+            dense[id] += count;
+            return;
+        }
+
+        int slot = indexFor(id);
+        while (keys[slot] != 0) {
+            if (keys[slot] == id + 1) {
+                values[slot] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id + 1;
+        values[slot] = count;
+        if (++size > resizeThreshold) {
+            if ((long) size * DENSE_RATIO >= dictionary.size()) {
+                toDense(dictionary.size());
+            } else {
+                growSparse(keys.length * 2);
+            }
+        }
+    }
+
+    private void forEachId(IdConsumer action) {
+        if (dense != null) {
+            for (int id = 0; id < dense.length; id++) {
+                if (dense[id] != 0) action.accept(id, dense[id]);
+            }
+        } else {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) action.accept(keys[slot] - 1, values[slot]);
+            }
+        }
+    }
+
+    private void toDense(int capacity) {
+        int[] counts = new int[Math.max(capacity, 16)];
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        dense = counts;
+        keys = null;
+        values = null;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                int id = oldKeys[slot] - 1;
+                ensureDenseCapacity(id + 1);
+                dense[id] = oldValues[slot];
+            }
+        }
+    }
+
+    private void ensureDenseCapacity(int capacity) {
+        if (capacity > dense.length) {
+            dense = Arrays.copyOf(dense, Math.max(capacity, dense.length * 2));
+        }
+    }
+
+    private void growSparse(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocateSparse(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int slot = indexFor(oldKeys[i] - 1);
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocateSparse(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Id'ler ardışık olduğu için Fibonacci hashing ile tabloya dağıtılır
+    private int indexFor(int id) {
+        return (id * 0x9E3779B9) >>> shift;
+    }
+
+    // Sayısı büyük olan "büyüktür"; eşitlikte alfabetik olarak önce gelen
+    private int compareEntries(int[] a, int[] b) {
+        int byCount = Integer.compare(a[1], b[1]);
+        return byCount != 0 ? byCount : dictionary.word(b[0]).compareTo(dictionary.word(a[0]));
+    }
+}
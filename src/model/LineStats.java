@@ -0,0 +1,59 @@
+package model;
+
+/**
+ * Satır sayısı, byte sayısı ve en uzun satır. Satırlar '\n' ile biter, sondaki sonlandırılmamış
+ * satır da sayılır. Byte sayısı metnin UTF-8 uzunluğudur; chunk'lar satır sonlarını koruduğu için
+ * geçerli UTF-8 bir dosyada her modda dosya boyutuna eşittir.
+ * {@link #addAll(LineStats)} ile birleştirilir. Thread-safe değildir.
+ */
+public class LineStats {
+
+    private long lines;
+    private long bytes;
+    private int longestLineLength = -1;    // karakter, satır sonu hariç; hiç satır yoksa -1
+    private String longestLine;
+
+    /**
+     * text[start, end) bir satırdır, varsa satır sonu ('\n' ya da "\r\n") dahil. En uzun satır
+     * için sadece yeni bir en uzun bulunduğunda String oluşturulur.
+     */
+    public void addLine(String text, int start, int end) {
+        int bytes = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            // Surrogate çiftinin her yarısı 2 byte: toplam 4
+            bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+        }
+        this.bytes += bytes;
+        lines++;
+
+        int contentEnd = end;
+        if (contentEnd > start && text.charAt(contentEnd - 1) == '\n') contentEnd--;
+        if (contentEnd > start && text.charAt(contentEnd - 1) == '\r') contentEnd--;
+        if (contentEnd - start > longestLineLength) {
+            longestLineLength = contentEnd - start;
+            longestLine = text.substring(start, contentEnd);
+        }
+    }
+
+    // Eşit uzunluktaki satırlardan hangisinin tutulacağı birleştirme sırasına bağlıdır
+    public void addAll(LineStats other) {
+        lines += other.lines;
+        bytes += other.bytes;
+        if (other.longestLineLength > longestLineLength) {
+            longestLineLength = other.longestLineLength;
+            longestLine = other.longestLine;
+        }
+    }
+
+    public long getLines() { return lines; }
+    public long getBytes() { return bytes; }
+    public int getLongestLineLength() { return Math.max(longestLineLength, 0); }
+    public String getLongestLine() { return longestLine; }     // Hiç satır yoksa null
+
+    @Override
+    public String toString() {
+        return String.format("LineStats{lines=%d, bytes=%d, longestLine=%d chars}",
+                lines, bytes, getLongestLineLength());
+    }
+}
@@ -0,0 +1,54 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Her desen için eşleşme sayısı ve en az bir eşleşme içeren satır sayısı (grep -c). Desenler
+ * sırasıyla indekslenir; {@link #addAll(PatternCounts)} sadece aynı desen listesiyle oluşturulmuş
+ * sonuçları birleştirir. Thread-safe değildir.
+ */
+public class PatternCounts {
+
+    private final String[] patterns;
+    private final long[] matches;
+    private final long[] matchingLines;
+
+    public PatternCounts(String... patterns) {
+        this.patterns = patterns.clone();
+        this.matches = new long[patterns.length];
+        this.matchingLines = new long[patterns.length];
+    }
+
+    // Bir satırdaki matchCount eşleşmeyi ekler
+    public void addMatches(int pattern, int matchCount) {
+        if (matchCount > 0) {
+            matches[pattern] += matchCount;
+            matchingLines[pattern]++;
+        }
+    }
+
+    public void addAll(PatternCounts other) {
+        if (!Arrays.equals(patterns, other.patterns)) {
+            throw new IllegalArgumentException("Pattern counts have different patterns");
+        }
+        for (int i = 0; i < patterns.length; i++) {
+            matches[i] += other.matches[i];
+            matchingLines[i] += other.matchingLines[i];
+        }
+    }
+
+    public int size() { return patterns.length; }
+    public String getPattern(int pattern) { return patterns[pattern]; }
+    public long getMatches(int pattern) { return matches[pattern]; }
+    public long getMatchingLines(int pattern) { return matchingLines[pattern]; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PatternCounts{");
+        for (int i = 0; i < patterns.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(patterns[i]).append('=').append(matches[i]).append(" in ").append(matchingLines[i]).append(" lines");
+        }
+        return sb.append('}').toString();
+    }
+}
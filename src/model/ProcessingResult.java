@@ -1,48 +1,45 @@
 package model;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class ProcessingResult<T> {
     private final int chunkId;                    // Hangi chunk'ın sonucu?
-    private final Map<String, T> results;         // Ne bulduk? (kelime:count map)
-    private final long processingTime;            // Kaç ms sürdü?
+    private final T results;                      // Ne bulduk? (ör. kelime sayıları)
+    private final long processingTimeNanos;       // Kaç ns sürdü?
     private final boolean successful;             // Başarılı mı?
     private final String errorMessage;            // Hata varsa ne?
 
     // Başarılı sonuç için constructor
-    public ProcessingResult(int chunkId, Map<String, T> results, long processingTime) {
+    public ProcessingResult(int chunkId, T results, long processingTimeNanos) {
         this.chunkId = chunkId;
         this.results = results;
-        this.processingTime = processingTime;
+        this.processingTimeNanos = processingTimeNanos;
         this.successful = true;
         this.errorMessage = null;
     }
 
     // Hatalı sonuç için constructor
-    public ProcessingResult(int chunkId, long processingTime, String errorMessage) {
+    public ProcessingResult(int chunkId, long processingTimeNanos, String errorMessage) {
         this.chunkId = chunkId;
-        this.results = new HashMap<>();
-        this.processingTime = processingTime;
+        this.results = null;
+        this.processingTimeNanos = processingTimeNanos;
         this.successful = false;
         this.errorMessage = errorMessage;
     }
 
     // Getter'lar
     public int getChunkId() { return chunkId; }
-    public Map<String, T> getResults() { return results; }
-    public long getProcessingTime() { return processingTime; }
+    public T getResults() { return results; }      // Hatalı sonuçta null
+    public long getProcessingTimeNanos() { return processingTimeNanos; }
     public boolean isSuccessful() { return successful; }
     public String getErrorMessage() { return errorMessage; }
 
     @Override
     public String toString() {
         if (successful) {
-            return String.format("ProcessingResult{chunkId=%d, resultCount=%d, time=%dms}",
-                    chunkId, results.size(), processingTime);
+            return String.format("ProcessingResult{chunkId=%d, results=%s, time=%.3fms}",
+                    chunkId, results, processingTimeNanos / 1e6);
         } else {
-            return String.format("ProcessingResult{chunkId=%d, ERROR='%s', time=%dms}",
-                    chunkId, errorMessage, processingTime);
+            return String.format("ProcessingResult{chunkId=%d, ERROR='%s', time=%.3fms}",
+                    chunkId, errorMessage, processingTimeNanos / 1e6);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Open addressing (linear probing) ile çalışan kelime sayacı.
+ * Anahtarlar, hash'ler ve sayılar düz dizilerde tutulur; hash her slotta saklandığı için
+ * karşılaştırma ve büyüme sırasında tekrar hesaplanmaz, artırma yerinde yapılır.
+ * Thread-safe değildir.
+ */
+public class WordCountTable implements WordCounts {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 32;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private String[] keys;
+    private int[] hashes;
+    private int[] counts;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeThreshold;
+
+    public WordCountTable() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    public WordCountTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / LOAD_FACTOR), 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    // Bu tablonun kelimelerini yeniden boyutlanmadan alabilecek kapasitede açılır
+    @Override
+    public WordCounts emptyCopy() {
+        return new WordCountTable(Math.max(size, DEFAULT_EXPECTED_SIZE));
+    }
+
+    // Tokenizer buffer'ından doğrudan artırma; String sadece yeni kelime eklenirken oluşturulur
+    public void increment(char[] buffer, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer[i]; // String.hashCode() ile aynı
+        }
+
+        int slot = indexFor(hash);
+        while (true) {
+            String key = keys[slot];
+            if (key == null) {
+                insert(slot, new String(buffer, 0, length), hash, 1);
+                return;
+            }
+            if (hashes[slot] == hash && contentEquals(key, buffer, length)) {
+                counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    public void add(String word, int count) {
+        add(word, word.hashCode(), count);
+    }
+
+    @Override
+    public void addAll(WordCounts other) {
+        if (other instanceof WordCountTable) {
+            WordCountTable table = (WordCountTable) other;
+            // Kaynak slot sırasıyla gezilir; hedef kaynaktan küçükse ardışık slotlar hedefte aynı
+            // bölgeye düşer ve linear probing kümeleri oluşur. Önce en az kaynak kadar büyüt.
+            if (keys.length < table.keys.length) {
+                resize(table.keys.length);
+            }
+            for (int i = 0; i < table.keys.length; i++) {
+                if (table.keys[i] != null) {
+                    add(table.keys[i], table.hashes[i], table.counts[i]);
+                }
+            }
+        } else {
+            other.forEach(this::add);
+        }
+    }
+
+    @Override
+    public int get(String word) {
+        int hash = word.hashCode();
+        int slot = indexFor(hash);
+        while (true) {
+            String key = keys[slot];
+            if (key == null) return 0;
+            if (hashes[slot] == hash && key.equals(word)) return counts[slot];
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    @Override
+    public List<Map.Entry<String, Integer>> top(int k) {
+        // k elemanlı min-heap: kökte o ana kadarki en küçük aday
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(k, 1), this::compareSlots);
+        for (int i = 0; i < keys.length && k > 0; i++) {
+            if (keys[i] == null) continue;
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (compareSlots(i, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int slot = heap.poll();
+            top.add(Map.entry(keys[slot], counts[slot]));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    @Override
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new HashMap<>(size * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WordCountTable{size=%d, capacity=%d}", size, keys.length);
+    }
+
+    // Sayısı büyük olan "büyüktür"; eşitlikte alfabetik olarak önce gelen
+    private int compareSlots(int a, int b) {
+        int byCount = Integer.compare(counts[a], counts[b]);
+        return byCount != 0 ? byCount : keys[b].compareTo(keys[a]);
+    }
+
+    private void add(String word, int hash, int count) {
+        int slot = indexFor(hash);
+        while (true) {
+            String key = keys[slot];
+            if (key == null) {
+                insert(slot, word, hash, count);
+                return;
+            }
+            if (hashes[slot] == hash && key.equals(word)) {
+                counts[slot] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void insert(int slot, String word, int hash, int count) {
+        keys[slot] = word;
+        hashes[slot] = hash;
+        counts[slot] = count;
+        if (++size > resizeThreshold) {
+            resize(keys.length * 2);
+        }
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) continue;
+            int slot = indexFor(oldHashes[i]);
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            hashes[slot] = oldHashes[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int indexFor(int hash) {
+        // Fibonacci hashing: kısa kelimelerin String hash'leri ardışık aralıklarda yoğunlaşır ve
+        // doğrudan maskelenirse linear probing'de uzun kümeler oluşur; çarpım hash'i tabloya dağıtır
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private static boolean contentEquals(String key, char[] buffer, int length) {
+        if (key.length() != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != buffer[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kelime -> sayı tablosu. Sayılar boxing olmadan int olarak tutulur,
+ * böylece hem chunk sayımında hem de merge sırasında Integer üretilmez.
+ */
+public interface WordCounts {
+
+    interface EntryConsumer {
+        void accept(String word, int count);
+    }
+
+    int size();
+
+    // Kelime yoksa 0 döner
+    int get(String word);
+
+    void add(String word, int count);
+
+    void addAll(WordCounts other);
+
+    // Aynı türde boş tablo (IdCounts için aynı sözlükle); birleştirme hedefi olarak kullanılır
+    WordCounts emptyCopy();
+
+    void forEach(EntryConsumer action);
+
+    // En çok geçen k kelime, sayıya göre azalan sırada
+    List<Map.Entry<String, Integer>> top(int k);
+
+    Map<String, Integer> toMap();
+}
@@ -0,0 +1,193 @@
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread'ler arasında paylaşılan, sadece eklemeli kelime sözlüğü: kelime -> int id.
+ * Id'ler 0'dan başlayarak ardışık verilir ve bir kelimenin id'si hiç değişmez, böylece chunk sayımları
+ * id ile indekslenen int dizilerinde tutulabilir ({@link IdCounts}).
+ * <p>
+ * Sözlük hash'e göre STRIPES parçaya bölünür. Arama kilitsizdir: anahtar slota release semantiğiyle
+ * en son yazılır, acquire ile okunduğunda hash ve id de görünür. Ekleme sadece ilgili parçanın
+ * kilidini alır; parça büyürken yeni tablo hazırlanıp volatile alana yazılır, eski tabloyu okuyan
+ * thread'ler bulamazsa kilitli yoldan tekrar dener.
+ */
+public class WordDictionary {
+
+    private static final int STRIPES = 16;
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(String[].class);
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    // id -> kelime, PAGE_SIZE'lık sayfalar halinde; sayfa dizisi sadece büyürken kopyalanır
+    private volatile String[][] pages = new String[16][];
+
+    public WordDictionary() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Kelimenin id'si; yoksa eklenir. String sadece ilk eklemede oluşturulur.
+    public int idOf(char[] buffer, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer[i];   // String.hashCode() ile aynı
+        }
+        Stripe stripe = stripeFor(hash);
+
+        int id = stripe.table.find(hash, buffer, length);
+        if (id >= 0) return id;
+
+        synchronized (stripe) {
+            id = stripe.table.find(hash, buffer, length);
+            return id >= 0 ? id : insert(stripe, new String(buffer, 0, length), hash);
+        }
+    }
+
+    public int idOf(String word) {
+        int hash = word.hashCode();
+        Stripe stripe = stripeFor(hash);
+
+        int id = stripe.table.find(hash, word);
+        if (id >= 0) return id;
+
+        synchronized (stripe) {
+            id = stripe.table.find(hash, word);
+            return id >= 0 ? id : insert(stripe, word, hash);
+        }
+    }
+
+    // Kelime sözlükte yoksa -1
+    public int find(String word) {
+        int hash = word.hashCode();
+        return stripeFor(hash).table.find(hash, word);
+    }
+
+    public String word(int id) {
+        return pages[id >>> PAGE_BITS][id & (PAGE_SIZE - 1)];
+    }
+
+    public int size() {
+        return nextId.get();
+    }
+
+    // stripe kilidi tutulurken çağrılır
+    private int insert(Stripe stripe, String word, int hash) {
+        int id = nextId.getAndIncrement();
+        page(id >>> PAGE_BITS)[id & (PAGE_SIZE - 1)] = word;
+
+        Table table = stripe.table;
+        if (table.size + 1 > table.resizeThreshold) {
+            table = table.grow();
+            stripe.table = table;
+        }
+        table.put(word, hash, id);   // Anahtar en son yazılır: ters eşleme ve id aramadan önce görünür
+        return id;
+    }
+
+    // Farklı parçalar aynı sayfaya yazabildiği için sayfa ayırma tek kilit altında yapılır
+    private String[] page(int index) {
+        synchronized (this) {
+            String[][] current = pages;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(current.length * 2, index + 1));
+            }
+            if (current[index] == null) {
+                current[index] = new String[PAGE_SIZE];
+            }
+            pages = current;
+            return current[index];
+        }
+    }
+
+    private Stripe stripeFor(int hash) {
+        // Tablo içi indeks hash'in çarpımla karıştırılmış üst bitlerini kullanır, parça seçimi ise alt bitleri
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        volatile Table table = new Table(INITIAL_STRIPE_CAPACITY);
+    }
+
+    private static final class Table {
+        final String[] keys;
+        final int[] hashes;
+        final int[] ids;
+        final int mask;
+        final int shift;
+        final int resizeThreshold;
+        int size;                      // Parça kilidi altında değişir
+
+        Table(int capacity) {
+            keys = new String[capacity];
+            hashes = new int[capacity];
+            ids = new int[capacity];
+            mask = capacity - 1;
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+            resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        int find(int hash, char[] buffer, int length) {
+            int slot = indexFor(hash);
+            while (true) {
+                String key = (String) KEYS.getAcquire(keys, slot);
+                if (key == null) return -1;
+                if (hashes[slot] == hash && contentEquals(key, buffer, length)) return ids[slot];
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        int find(int hash, String word) {
+            int slot = indexFor(hash);
+            while (true) {
+                String key = (String) KEYS.getAcquire(keys, slot);
+                if (key == null) return -1;
+                if (hashes[slot] == hash && key.equals(word)) return ids[slot];
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        void put(String word, int hash, int id) {
+            int slot = indexFor(hash);
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            ids[slot] = id;
+            KEYS.setRelease(keys, slot, word);
+            size++;
+        }
+
+        Table grow() {
+            Table bigger = new Table(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    bigger.put(keys[i], hashes[i], ids[i]);
+                }
+            }
+            return bigger;
+        }
+
+        private int indexFor(int hash) {
+            return (hash * 0x9E3779B9) >>> shift;
+        }
+
+        private static boolean contentEquals(String key, char[] buffer, int length) {
+            if (key.length() != length) return false;
+            for (int i = 0; i < length; i++) {
+                if (key.charAt(i) != buffer[i]) return false;
+            }
+            return true;
+        }
+    }
+}
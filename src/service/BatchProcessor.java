@@ -0,0 +1,334 @@
+package service;
+
+import exception.FileProcessingException;
+import model.BatchResult;
+import model.FileChunk;
+import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
+import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Bir dizindeki ya da glob'a uyan çok sayıda dosyayı tek, uzun ömürlü bir havuzda işler.
+ * Büyük dosyalar satır sonuna hizalı byte aralıklarına bölünür, küçük dosyalar toplam boyutları
+ * chunkBytes'a ulaşana kadar tek iş biriminde gruplanır; böylece dosyalar küçük olsa bile tüm
+ * thread'ler dolu kalır. Havuz çağrılar arasında paylaşılır ve close() ile kapatılır.
+ */
+public class BatchProcessor implements AutoCloseable {
+
+    private static final int DEFAULT_CHUNK_BYTES = 128 * 1024;
+
+    private final ExecutorService executor;
+    private final WordProcessor processor;
+    private final PerformanceMetrics metrics;
+    private final int poolSize;
+    private final int chunkBytes;
+
+    // Okuma buffer'ları iş birimleri arasında yeniden kullanılır (en fazla poolSize tane)
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    public BatchProcessor(int poolSize) {
+        this(poolSize, DEFAULT_CHUNK_BYTES);
+    }
+
+    public BatchProcessor(int poolSize, int chunkBytes) {
+        this(poolSize, chunkBytes, ThreadMode.PLATFORM);
+    }
+
+    public BatchProcessor(int poolSize, int chunkBytes, ThreadMode threadMode) {
+        if (poolSize <= 0) throw new IllegalArgumentException("Pool size must be > 0");
+        if (chunkBytes <= 0) throw new IllegalArgumentException("Chunk bytes must be > 0");
+
+        this.executor = threadMode.newExecutor(poolSize);
+        this.processor = new WordProcessor();
+        this.metrics = new PerformanceMetrics();
+        this.poolSize = poolSize;
+        this.chunkBytes = chunkBytes;
+        this.buffers = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    // Dizindeki tüm normal dosyalar (alt dizinler hariç), isim sırasıyla
+    public BatchResult processDirectory(String directory) throws FileProcessingException {
+        try (Stream<Path> entries = Files.list(Path.of(directory))) {
+            return processFiles(entries.filter(Files::isRegularFile).sorted().toList(), directory);
+        } catch (IOException e) {
+            throw new FileProcessingException("Error listing directory " + directory, e);
+        }
+    }
+
+    /**
+     * Glob'a uyan dosyalar, ör. {@code logs/app-*.log} ya da {@code logs/**}{@code /*.log}.
+     * Arama, glob karakteri içermeyen en uzun dizin önekinden başlar ve glob {@code **} içermiyorsa
+     * glob'un segment sayısından derine inmez. Okunamayan dizin ve dosyalar uyarıyla atlanır.
+     */
+    public BatchResult processGlob(String glob) throws FileProcessingException {
+        int firstWildcard = indexOfWildcard(glob);
+        int baseEnd = glob.lastIndexOf('/', firstWildcard) + 1;
+        Path base = Path.of(glob.substring(0, baseEnd));
+        String pattern = glob.substring(baseEnd);
+        int maxDepth = pattern.contains("**") ? Integer.MAX_VALUE : (int) pattern.chars().filter(c -> c == '/').count() + 1;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(base, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    // Files.isRegularFile sembolik bağları izler, dosyaya giden bağlar da eşleşir
+                    if (matcher.matches(file) && Files.isRegularFile(file)) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    System.err.println("WARNING: Skipping unreadable " + file + ": " + e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new FileProcessingException("Error searching " + glob, e);
+        }
+        files.sort(null);
+        return processFiles(files, glob);
+    }
+
+    public BatchResult processFiles(List<Path> files) throws FileProcessingException {
+        return processFiles(files, files.size() + " files");
+    }
+
+    private BatchResult processFiles(List<Path> files, String label) throws FileProcessingException {
+        metrics.startMeasurement(label, poolSize);
+
+        try {
+            // İş birimlerini planla: büyük dosyaları böl, küçükleri grupla
+            long planStart = System.nanoTime();
+            boolean[] failed = new boolean[files.size()];
+            List<List<Segment>> units = new ArrayList<>();
+            long totalBytes = plan(files, failed, units);
+            metrics.recordStage(Stage.CHUNK, System.nanoTime() - planStart);
+
+            CompletionService<List<Partial>> completionService = new ExecutorCompletionService<>(executor);
+            for (List<Segment> unit : units) {
+                completionService.submit(() -> countUnit(unit));
+            }
+
+            // Kısmi sonuçları dosyalarına dağıt
+            List<List<WordCounts>> partials = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                partials.add(new ArrayList<>());
+            }
+            for (int i = 0; i < units.size(); i++) {
+                for (Partial partial : completionService.take().get()) {
+                    if (partial.counts == null) {
+                        failed[partial.fileIndex] = true;
+                    } else {
+                        partials.get(partial.fileIndex).add(partial.counts);
+                    }
+                }
+            }
+
+            long mergeStart = System.nanoTime();
+            ResultMerger merger = new ResultMerger(executor);
+            Map<String, WordCounts> fileCounts = new LinkedHashMap<>();
+            List<String> failedFiles = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                if (failed[i]) {
+                    failedFiles.add(files.get(i).toString());
+                } else {
+                    fileCounts.put(files.get(i).toString(), merger.reduce(partials.get(i)));
+                }
+            }
+            WordCounts total = mergeTotal(new ArrayList<>(fileCounts.values()), merger);
+            metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+
+            System.out.printf("Batch: %d files (%d failed), %d work units%n",
+                    files.size(), failedFiles.size(), units.size());
+            System.out.println("Toplam farklı kelime sayısı: " + total.size());
+
+            metrics.setInputBytes(totalBytes);
+            metrics.endMeasurement();
+            metrics.printReport();
+            return new BatchResult(fileCounts, total, failedFiles, totalBytes);
+
+        } catch (InterruptedException | ExecutionException e) {
+            throw new FileProcessingException("Error in batch processing of " + label, e);
+        }
+    }
+
+    // Dosyaları iş birimlerine ayırır ve okunabilen toplam byte sayısını döner
+    private long plan(List<Path> files, boolean[] failed, List<List<Segment>> units) {
+        long totalBytes = 0;
+        List<Segment> group = new ArrayList<>();
+        long groupBytes = 0;
+
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            try {
+                long size = Files.size(file);
+                totalBytes += size;
+
+                if (size <= chunkBytes) {
+                    group.add(new Segment(i, file, 0, size));
+                    groupBytes += size;
+                    if (groupBytes >= chunkBytes) {
+                        units.add(group);
+                        group = new ArrayList<>();
+                        groupBytes = 0;
+                    }
+                    continue;
+                }
+
+                // Büyük dosya: her satır sonuna hizalı aralık ayrı bir iş birimi
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long start = 0;
+                    while (start < size) {
+                        long end = start + chunkBytes >= size ? size : FileChunker.nextLineStart(channel, start + chunkBytes, size);
+                        units.add(List.of(new Segment(i, file, start, end)));
+                        start = end;
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading " + file + ": " + e.getMessage());
+                failed[i] = true;
+            }
+        }
+        if (!group.isEmpty()) {
+            units.add(group);
+        }
+        return totalBytes;
+    }
+
+    // Bir iş birimindeki her aralığı okur ve byte seviyesinde sayar; okunamayan aralık null sayım döner
+    private List<Partial> countUnit(List<Segment> unit) {
+        long maxLength = 0;
+        for (Segment segment : unit) {
+            maxLength = Math.max(maxLength, segment.end - segment.start);
+        }
+        ByteBuffer pooled = buffers.poll();
+        ByteBuffer buffer = pooled != null && pooled.capacity() >= maxLength
+                ? pooled : ByteBuffer.allocate((int) Math.max(maxLength, chunkBytes));
+
+        List<Partial> partials = new ArrayList<>(unit.size());
+        for (Segment segment : unit) {
+            if (segment.start == segment.end) {
+                partials.add(new Partial(segment.fileIndex, new WordCountTable()));   // boş dosya
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment.file, StandardOpenOption.READ)) {
+                long readStart = System.nanoTime();
+                buffer.clear().limit((int) (segment.end - segment.start));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, segment.start + buffer.position()) == -1) break;
+                }
+                buffer.flip();
+                metrics.recordStage(Stage.READ, System.nanoTime() - readStart);
+                metrics.recordChunkSize(buffer.remaining());
+
+                ProcessingResult<WordCounts> result = processor.processByteChunk(
+                        new FileChunk<>(segment.fileIndex, buffer, segment.start, segment.end));
+                metrics.recordChunk(result.getProcessingTimeNanos());
+                partials.add(new Partial(segment.fileIndex, result.getResults()));
+            } catch (IOException e) {
+                System.err.println("Error reading " + segment.file + ": " + e.getMessage());
+                partials.add(new Partial(segment.fileIndex, null));
+            }
+        }
+        buffers.offer(buffer);
+        return partials;
+    }
+
+    // Dosya sayımlarını bozmadan toplamı çıkarır: her görev kendi yeni tablosuna bir dilimi ekler
+    private WordCounts mergeTotal(List<WordCounts> fileCounts, ResultMerger merger)
+            throws InterruptedException, ExecutionException {
+        int groups = Math.min(poolSize, fileCounts.size());
+        List<Callable<WordCounts>> tasks = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            List<WordCounts> slice = fileCounts.subList(
+                    g * fileCounts.size() / groups, (g + 1) * fileCounts.size() / groups);
+            tasks.add(() -> {
+                WordCountTable table = new WordCountTable();
+                for (WordCounts counts : slice) {
+                    table.addAll(counts);
+                }
+                return table;
+            });
+        }
+
+        List<WordCounts> groupTotals = new ArrayList<>();
+        for (Future<WordCounts> future : executor.invokeAll(tasks)) {
+            groupTotals.add(future.get());
+        }
+        return merger.reduce(groupTotals);
+    }
+
+    private static int indexOfWildcard(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') {
+                return i;
+            }
+        }
+        return glob.length();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Bir dosyanın [start, end) byte aralığı
+    private static class Segment {
+        final int fileIndex;
+        final Path file;
+        final long start;
+        final long end;
+
+        Segment(int fileIndex, Path file, long start, long end) {
+            this.fileIndex = fileIndex;
+            this.file = file;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // Bir aralığın sayımları; okuma ya da sayım başarısızsa counts null
+    private static class Partial {
+        final int fileIndex;
+        final WordCounts counts;
+
+        Partial(int fileIndex, WordCounts counts) {
+            this.fileIndex = fileIndex;
+            this.counts = counts;
+        }
+    }
+}
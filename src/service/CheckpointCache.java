@@ -0,0 +1,164 @@
+package service;
+
+import model.WordCountTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link IncrementalProcessor} için kalıcı chunk önbelleği. Her girdi dosyası için dizinde tek bir
+ * dosya tutulur: girdinin boyutu, mtime'ı, chunk boyutu ve her chunk'ın byte aralığı, CRC32C'si
+ * ve kelime sayımları. Yazma geçici dosya + rename ile yapılır, yarım kalan yazma eski kaydı bozmaz.
+ */
+public class CheckpointCache {
+
+    private static final int MAGIC = 0x57434B31;   // "WCK1"
+
+    private final Path directory;
+
+    public CheckpointCache(Path directory) {
+        this.directory = directory;
+    }
+
+    // Dosyanın kaydı; yoksa, okunamıyorsa ya da başka bir dosyaya aitse null
+    public Entry load(Path file) {
+        Path cacheFile = cacheFileFor(file);
+        if (!Files.exists(cacheFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC) return null;
+            String path = in.readUTF();
+            if (!path.equals(key(file))) return null;
+
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            int chunkBytes = in.readInt();
+            int chunkCount = in.readInt();
+
+            List<Chunk> chunks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                long start = in.readLong();
+                long end = in.readLong();
+                int crc = in.readInt();
+                int words = in.readInt();
+                WordCountTable counts = new WordCountTable(words);
+                for (int w = 0; w < words; w++) {
+                    byte[] word = new byte[in.readInt()];
+                    in.readFully(word);
+                    counts.add(new String(word, StandardCharsets.UTF_8), in.readInt());
+                }
+                chunks.add(new Chunk(start, end, crc, counts));
+            }
+            return new Entry(size, lastModified, chunkBytes, chunks);
+
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable checkpoint " + cacheFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void store(Path file, Entry entry) throws IOException {
+        Files.createDirectories(directory);
+        Path cacheFile = cacheFileFor(file);
+        Path temp = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(key(file));
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.chunkBytes);
+                out.writeInt(entry.chunks.size());
+
+                for (Chunk chunk : entry.chunks) {
+                    out.writeLong(chunk.start);
+                    out.writeLong(chunk.end);
+                    out.writeInt(chunk.crc);
+                    out.writeInt(chunk.counts.size());
+                    IOException[] error = new IOException[1];
+                    chunk.counts.forEach((word, count) -> {
+                        if (error[0] != null) return;
+                        try {
+                            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+                            out.writeInt(bytes.length);
+                            out.write(bytes);
+                            out.writeInt(count);
+                        } catch (IOException e) {
+                            error[0] = e;
+                        }
+                    });
+                    if (error[0] != null) throw error[0];
+                }
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Aynı isimli farklı dizinlerdeki dosyalar çakışmasın diye mutlak yolun CRC'si isme eklenir
+    private Path cacheFileFor(Path file) {
+        CRC32C crc = new CRC32C();
+        crc.update(key(file).getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(file.getFileName() + "-" + Long.toHexString(crc.getValue()) + ".ckpt");
+    }
+
+    private static String key(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    // Bir girdi dosyasının son işlenmiş hali
+    public static class Entry {
+        private final long size;
+        private final long lastModified;      // ms
+        private final int chunkBytes;
+        private final List<Chunk> chunks;
+
+        public Entry(long size, long lastModified, int chunkBytes, List<Chunk> chunks) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.chunkBytes = chunkBytes;
+            this.chunks = Collections.unmodifiableList(chunks);
+        }
+
+        public long getSize() { return size; }
+        public long getLastModified() { return lastModified; }
+        public int getChunkBytes() { return chunkBytes; }
+        public List<Chunk> getChunks() { return chunks; }
+    }
+
+    // [start, end) aralığının CRC32C'si ve kelime sayımları
+    public static class Chunk {
+        private final long start;
+        private final long end;
+        private final int crc;
+        private final WordCountTable counts;
+
+        public Chunk(long start, long end, int crc, WordCountTable counts) {
+            this.start = start;
+            this.end = end;
+            this.crc = crc;
+            this.counts = counts;
+        }
+
+        public long getStart() { return start; }
+        public long getEnd() { return end; }
+        public int getCrc() { return crc; }
+        public WordCountTable getCounts() { return counts; }
+        public long getSize() { return end - start; }
+    }
+}
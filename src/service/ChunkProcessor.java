@@ -0,0 +1,53 @@
+package service;
+
+import model.FileChunk;
+import model.ProcessingResult;
+
+/**
+ * Chunk'lar üzerinde çalışan, birleştirilebilir sonuç üreten bir analiz. İşlemciler her thread ya da
+ * chunk için {@link #newResult()} ile boş bir sonuç alır, chunk'ları {@link #process} ile ona ekler
+ * ve kısmi sonuçları {@link #merge} ile birleştirir; sonuç chunk'ların hangi sırayla ve hangi
+ * gruplarla işlendiğinden bağımsız olmalıdır.
+ * <p>
+ * Aynı nesne birden fazla thread'de farklı sonuç nesneleriyle aynı anda çağrılır, bu yüzden
+ * gerçeklemeler sonuç dışında değişen durum tutmamalıdır. Birden fazla analizi tek geçişte
+ * çalıştırmak için {@link FusedChunkProcessor}.
+ *
+ * @param <R> sonuç tipi; thread-safe olması gerekmez
+ */
+public interface ChunkProcessor<R> {
+
+    R newResult();
+
+    // Chunk'ı result'a ekler
+    void process(FileChunk<String> chunk, R result);
+
+    // source'u target'a ekler; source bundan sonra kullanılmaz
+    void merge(R target, R source);
+
+    /**
+     * {@link #process}'i süre ölçerek çalıştırır; hata olursa WordProcessor gibi hatalı sonuç döner.
+     * Hata durumunda target'a chunk'ın bir kısmı eklenmiş olabilir.
+     */
+    default ProcessingResult<R> processChunk(FileChunk<String> chunk, R target) {
+        long startTime = System.nanoTime();
+
+        try {
+            if (chunk.getData() == null) {
+                System.out.println("WARNING: Empty or null data received");
+            } else {
+                process(chunk, target);
+            }
+            return new ProcessingResult<>(chunk.getChunkId(), target, System.nanoTime() - startTime);
+
+        } catch (Exception e) {
+            long endTime = System.nanoTime();
+            System.err.println("Error processing chunk " + chunk.getChunkId() + ": " + e.getMessage());
+            return new ProcessingResult<>(
+                    chunk.getChunkId(),
+                    endTime - startTime,
+                    e.getMessage()
+            );
+        }
+    }
+}
@@ -1,50 +1,340 @@
 package service;
 
 import model.FileChunk;
+import util.ByteScanner;
+import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public class FileChunker {
 
+    /**
+     * LINES: chunkSize satır; MAPPED: chunkSize byte hedefi (satırlar bölünmez, chunk satır sonunda biter).
+     * İki modda da chunk verisi dosyadaki metnin aynısıdır, satır sonları ('\n', "\r\n") dahil.
+     */
+    public enum Mode { LINES, MAPPED }
+
+    // Tek bir mmap penceresi 2 GB'ı geçemez, 1 GB'lık pencereler kullanıyoruz
+    static final long MAX_WINDOW_SIZE = 1L << 30;
+    // Chunk sınırı aranırken pencereden kopyalanan blok; satırlar genelde bundan kısadır
+    private static final int SEARCH_BLOCK_SIZE = 1024;
+    // LINES modunda okuma tamponu (char)
+    private static final int LINE_BUFFER_SIZE = 64 * 1024;
+
+    private final Mode mode;
     private final int chunkSize;
+    private final long windowSize;
 
     public FileChunker(int chunkSize) {
-        this.chunkSize = Math.max(chunkSize, 1000); // Minimum 1000 lines
+        this(Mode.LINES, chunkSize);
     }
 
-    public List<FileChunk<String>> createChunks(String filename) throws IOException {
+    public FileChunker(Mode mode, int chunkSize) {
+        this(mode, chunkSize, MAX_WINDOW_SIZE);
+    }
+
+    FileChunker(Mode mode, int chunkSize, long windowSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be > 0");
+        if (mode == Mode.MAPPED && (windowSize < chunkSize || windowSize > MAX_WINDOW_SIZE)) {
+            throw new IllegalArgumentException("Window size must be between chunk size and " + MAX_WINDOW_SIZE);
+        }
+        this.chunkSize = chunkSize;
+        this.mode = mode;
+        this.windowSize = windowSize;
+    }
 
-        Path path = Path.of(filename);
-        List<String> allLines = Files.readAllLines(path);
-        int totalLines = allLines.size();
+    public Mode getMode() { return mode; }
 
+    public List<FileChunk<String>> createChunks(String filename) throws IOException {
         List<FileChunk<String>> chunks = new ArrayList<>();
-        int chunkId = 1;
+        try {
+            iterateChunks(filename).forEachRemaining(chunks::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return chunks;
+    }
 
+    /**
+     * Chunk'ları tek tek üretir; dosya hiçbir zaman tamamen belleğe alınmaz. MAPPED modda her
+     * next() çağrısı sadece o chunk'ın byte aralığını decode eder, LINES modda dosya akış halinde
+     * okunur; heap kullanımı dosya boyutuyla değil, o anda işlenmekte olan chunk sayısıyla orantılı kalır.
+     */
+    public Iterator<FileChunk<String>> iterateChunks(String filename) throws IOException {
+        return iterateChunks(filename, null);
+    }
 
-        for (int i = 0; i < totalLines; i += chunkSize) {
-            int endIndex = Math.min(i + chunkSize, totalLines);
-            List<String> chunkLines = new ArrayList<>(allLines.subList(i, endIndex));
+    /**
+     * metrics verilirse chunk üretimi iki aşama olarak kaydedilir: dosyadan okuma READ'e (LINES'ta
+     * reader'ın doldurulması, MAPPED'da mmap ve chunk sayfalarının belleğe getirilmesi), satır
+     * sınırlarını bulma ve decode CHUNK'a.
+     */
+    public Iterator<FileChunk<String>> iterateChunks(String filename, PerformanceMetrics metrics) throws IOException {
+        if (mode == Mode.LINES) {
+            return new LineChunkIterator(Path.of(filename), metrics);
+        }
+        return new MappedChunkIterator<>(Path.of(filename), metrics,
+                slice -> {
+                    byte[] bytes = new byte[slice.remaining()];
+                    slice.get(0, bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                });
+    }
 
-            String chunkData = String.join("\n", chunkLines);// Parçadaki satırları tek bir string haline getirir.
+    /**
+     * MAPPED modda chunk'ları kopyalamadan verir: her chunk, mmap penceresinin salt okunur bir
+     * dilimidir (position 0, limit chunk uzunluğu). Decode işlemi tüketiciye kalır, bkz.
+     * {@link WordProcessor#processByteChunk(FileChunk)}. Dilimler pencereyi canlı tutar, bu yüzden
+     * chunk'lar işlendikten sonra tutulmamalıdır.
+     */
+    public Iterator<FileChunk<ByteBuffer>> iterateByteChunks(String filename) throws IOException {
+        return iterateByteChunks(filename, null);
+    }
+
+    // Sayfalar chunk verilmeden önce belleğe getirilir, bu yüzden sayfa hataları sayımda değil READ'de ölçülür
+    public Iterator<FileChunk<ByteBuffer>> iterateByteChunks(String filename, PerformanceMetrics metrics)
+            throws IOException {
+        if (mode != Mode.MAPPED) {
+            throw new IllegalStateException("Byte chunks require MAPPED mode");
+        }
+        return new MappedChunkIterator<>(Path.of(filename), metrics, MappedByteBuffer::asReadOnlyBuffer);
+    }
 
-            long startPos = i;
-            long endPos = endIndex;
 
-            chunks.add(createChunk(chunkId, chunkData, startPos, endPos));
-            chunkId++;
+    // position'dan itibaren ilk '\n' karakterinin hemen arkasını döner; limit'e kadar yoksa limit
+    static long nextLineStart(FileChannel channel, long position, long limit) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        long pos = position;
+
+        while (pos < limit) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), limit - pos));
+            int read = channel.read(buffer, pos);
+            if (read <= 0) break;
+
+            int newline = ByteScanner.best().indexOf(buffer.array(), 0, read, (byte) '\n');
+            if (newline >= 0) {
+                return pos + newline + 1;
+            }
+            pos += read;
         }
+        return limit;
+    }
 
+    // ================================
+    // LINE CHUNKING
+    // ================================
+    /**
+     * chunkSize satırlık chunk'lar; pozisyonlar satır numarasıdır. Satır sonları chunk verisinde
+     * korunur, sondaki boş satırlar da dahil. Okuma hatası UncheckedIOException olarak yükselir.
+     * Dosya, son chunk okununca kapanır.
+     */
+    private class LineChunkIterator implements Iterator<FileChunk<String>> {
+        private final BufferedReader reader;
+        private final PerformanceMetrics metrics;      // null ise süreler kaydedilmez
+        private final char[] buffer = new char[LINE_BUFFER_SIZE];
+        private int position;          // buffer[position, limit) henüz chunk'a alınmadı
+        private int limit;
+        private long readNanos;        // fill() içinde geçen toplam süre
 
-        return chunks;
+        private long line;
+        private int chunkId = 1;
+
+        LineChunkIterator(Path path, PerformanceMetrics metrics) throws IOException {
+            this.metrics = metrics;
+            long openStart = System.nanoTime();
+            this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            try {
+                fill();
+            } catch (IOException | RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+            if (metrics != null) metrics.recordStage(Stage.READ, System.nanoTime() - openStart);
+        }
+
+        // Tampon her zaman dolu tutulur; boşsa dosya bitmiştir
+        @Override
+        public boolean hasNext() {
+            return position < limit;
+        }
+
+        @Override
+        public FileChunk<String> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            long chunkStart = System.nanoTime();
+            long readBefore = readNanos;
+            try {
+                StringBuilder data = new StringBuilder();
+                int lines = 0;
+                while (lines < chunkSize && position < limit) {
+                    int end = position;
+                    while (end < limit && lines < chunkSize) {
+                        if (buffer[end++] == '\n') lines++;
+                    }
+                    data.append(buffer, position, end - position);
+                    position = end;
+                    if (position == limit) fill();
+                }
+                // Dosya satır sonu olmadan bittiyse son satır da sayılır
+                if (data.charAt(data.length() - 1) != '\n') lines++;
+
+                FileChunk<String> chunk = new FileChunk<>(chunkId++, data.toString(), line, line + lines);
+                line += lines;
+                if (metrics != null) {
+                    long read = readNanos - readBefore;
+                    metrics.recordStage(Stage.READ, read);
+                    metrics.recordStage(Stage.CHUNK, System.nanoTime() - chunkStart - read);
+                }
+                return chunk;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading line " + line, e);
+            }
+        }
+
+        private void fill() throws IOException {
+            long fillStart = System.nanoTime();
+            int read = reader.read(buffer);
+            readNanos += System.nanoTime() - fillStart;
+            position = 0;
+            limit = Math.max(read, 0);
+            if (read < 0) reader.close();
+        }
+    }
+
+    // ================================
+    // MEMORY-MAPPED CHUNKING
+    // ================================
+    // Chunk'ın sayfaları belleğe getirilmiş dilimini (position 0, limit chunk uzunluğu) chunk verisine çevirir
+    private interface ChunkReader<T> {
+        T read(MappedByteBuffer slice);
     }
 
+    private class MappedChunkIterator<T> implements Iterator<FileChunk<T>> {
+        private final Path path;
+        private final long fileSize;
+        private final PerformanceMetrics metrics;      // null ise süreler kaydedilmez
+        private final ChunkReader<T> reader;
+        private final ByteScanner scanner = ByteScanner.best();
+        private final byte[] searchBlock = new byte[SEARCH_BLOCK_SIZE];
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long windowEnd;
+
+        private long position;
+        private int chunkId = 1;
+        private long readNanos;        // Bu next() çağrısında mmap ve sayfa getirmeye giden süre
+
+        MappedChunkIterator(Path path, PerformanceMetrics metrics, ChunkReader<T> reader) throws IOException {
+            this.path = path;
+            this.fileSize = Files.size(path);
+            this.metrics = metrics;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < fileSize;
+        }
+
+        @Override
+        public FileChunk<T> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            long chunkStart = System.nanoTime();
+            readNanos = 0;
+            try {
+                long start = position;
+                if (window == null || start + chunkSize > windowEnd && windowEnd < fileSize) {
+                    mapWindow(start);
+                }
+
+                long end = findChunkEnd(start);
+                if (end < 0) {
+                    // Satır pencerenin sonuna taştı: pencereyi chunk başından yeniden aç ve tekrar dene
+                    mapWindow(start);
+                    end = findChunkEnd(start);
+                    if (end < 0) end = windowEnd; // Pencereden uzun satır, pencere sınırında kes
+                }
+
+                // Sayfa hataları burada olur: dilimin sayfaları decode/sayımdan önce belleğe getirilir
+                long loadStart = System.nanoTime();
+                MappedByteBuffer slice = window.slice((int) (start - windowStart), (int) (end - start));
+                slice.load();
+                readNanos += System.nanoTime() - loadStart;
+
+                T data = reader.read(slice);
+                position = end;
+                if (metrics != null) {
+                    metrics.recordRead(end - start, readNanos);
+                    metrics.recordStage(Stage.CHUNK, System.nanoTime() - chunkStart - readNanos);
+                }
+
+                return new FileChunk<>(chunkId++, data, start, end);
+            } catch (IOException e) {
+                throw new IllegalStateException("Error mapping " + path + " at byte " + position, e);
+            }
+        }
 
-    private FileChunk<String> createChunk(int id, String data, long start, long end) {
-        return new FileChunk<>(id, data, start, end);
+        /**
+         * Chunk'ın bittiği pozisyon: hedef boyuta sığan son tam satırın sonu. Tek satır hedeften
+         * uzunsa o satırın sonu; satır sonu pencerede yoksa -1.
+         */
+        private long findChunkEnd(long start) {
+            long target = start + chunkSize;
+            if (target >= fileSize) return fileSize;
+
+            // Pencereden küçük bloklar halinde kopyalayıp tara: önce hedefin gerisine, sonra ilerisine
+            for (long to = target; to > start; to -= SEARCH_BLOCK_SIZE) {
+                long from = Math.max(start, to - SEARCH_BLOCK_SIZE);
+                int length = copyFromWindow(from, to);
+                int newline = scanner.lastIndexOf(searchBlock, 0, length, (byte) '\n');
+                if (newline >= 0) {
+                    return from + newline + 1;
+                }
+            }
+            for (long from = target; from < windowEnd; from += SEARCH_BLOCK_SIZE) {
+                int length = copyFromWindow(from, Math.min(windowEnd, from + SEARCH_BLOCK_SIZE));
+                int newline = scanner.indexOf(searchBlock, 0, length, (byte) '\n');
+                if (newline >= 0) {
+                    return from + newline + 1;
+                }
+            }
+            return windowEnd == fileSize ? fileSize : -1;
+        }
+
+        private int copyFromWindow(long from, long to) {
+            int length = (int) (to - from);
+            window.get((int) (from - windowStart), searchBlock, 0, length);
+            return length;
+        }
+
+        private void mapWindow(long start) throws IOException {
+            long mapStart = System.nanoTime();
+            long size = Math.min(windowSize, fileSize - start);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                // Kanal kapandıktan sonra da mapping geçerli kalır
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            }
+            windowStart = start;
+            windowEnd = start + size;
+            readNanos += System.nanoTime() - mapStart;
+        }
     }
 }
@@ -0,0 +1,143 @@
+package service;
+
+import model.FileChunk;
+import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
+import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dosyanın byte aralığını eşik değerinin altına inene kadar ikiye bölen fork/join işlemcisi.
+ * Yapraklar kendi aralıklarını okuyup sayar, sonuçlar join sırasında yukarı doğru birleştirilir;
+ * hem yük dengeleme hem merge work stealing ile yapılır.
+ */
+public class ForkJoinProcessor {
+
+    private static final int DEFAULT_THRESHOLD = 128 * 1024; // byte
+
+    private final WordProcessor processor;
+    private final PerformanceMetrics metrics;
+    private final int parallelism;
+    private final int threshold;
+
+    public ForkJoinProcessor(int parallelism) {
+        this(parallelism, DEFAULT_THRESHOLD);
+    }
+
+    public ForkJoinProcessor(int parallelism, int threshold) {
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be > 0");
+        if (threshold <= 0) throw new IllegalArgumentException("Threshold must be > 0");
+
+        this.processor = new WordProcessor();
+        this.metrics = new PerformanceMetrics();
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+    }
+
+    // Birleştirilmiş kelime sayılarını döner, hata olursa null
+    public WordCounts processFile(String filename) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            metrics.startMeasurement(filename, parallelism);
+
+            AtomicInteger leafCount = new AtomicInteger();
+            WordCounts finalResult = pool.invoke(new CountTask(channel, 0, channel.size(), leafCount));
+
+            System.out.println("Toplam chunk sayısı: " + leafCount.get());
+            System.out.println("Toplam farklı kelime sayısı: " + finalResult.size());
+
+            // Metrics bitir ve rapor yazdır
+            metrics.endMeasurement();
+            metrics.printReport();
+            return finalResult;
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ================================
+    // RECURSIVE TASK
+    // ================================
+    private class CountTask extends RecursiveTask<WordCounts> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;   // Görev serileştirilmez, kanal sadece bu çalışmada geçerli
+        private final long start;
+        private final long end;
+        private final AtomicInteger leafCount;
+
+        CountTask(FileChannel channel, long start, long end, AtomicInteger leafCount) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.leafCount = leafCount;
+        }
+
+        @Override
+        protected WordCounts compute() {
+            try {
+                if (end - start > threshold) {
+                    long splitStart = System.nanoTime();
+                    long split = FileChunker.nextLineStart(channel, start + (end - start) / 2, end);
+                    metrics.recordStage(Stage.CHUNK, System.nanoTime() - splitStart);
+                    if (split > start && split < end) {
+                        CountTask left = new CountTask(channel, start, split, leafCount);
+                        CountTask right = new CountTask(channel, split, end, leafCount);
+                        left.fork();
+
+                        // Sağ yarıyı bu thread'de say, sol yarı çalınmış olabilir
+                        WordCounts counts = right.compute();
+                        WordCounts leftCounts = left.join();
+
+                        long mergeStart = System.nanoTime();
+                        counts.addAll(leftCounts);
+                        metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+                        return counts;
+                    }
+                }
+                return countLeaf();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading bytes " + start + "-" + end, e);
+            }
+        }
+
+        private WordCounts countLeaf() throws IOException {
+            // Positional read: aynı FileChannel'ı birden çok thread güvenle paylaşabilir
+            long readStart = System.nanoTime();
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) == -1) break;
+            }
+            long decodeStart = System.nanoTime();
+            metrics.recordStage(Stage.READ, decodeStart - readStart);
+
+            int id = leafCount.incrementAndGet();
+            String data = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            metrics.recordStage(Stage.CHUNK, System.nanoTime() - decodeStart);
+            metrics.recordChunkSize(end - start);
+
+            ProcessingResult<WordCounts> result = processor.processChunk(new FileChunk<>(id, data, start, end));
+            metrics.recordChunk(result.getProcessingTimeNanos());
+
+            // Hata WordProcessor tarafından loglandı, bu aralık boş sayılır
+            return result.isSuccessful() ? result.getResults() : new WordCountTable();
+        }
+    }
+}
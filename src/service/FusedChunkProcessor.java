@@ -0,0 +1,98 @@
+package service;
+
+import model.FileChunk;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Birden fazla {@link LineAnalysis}'i tek geçişte çalıştırır: dosya bir kez okunup chunk'lara
+ * bölünür, her chunk bir kez satırlara ayrılır ve her satır, henüz cache'teyken sırayla tüm
+ * analizlere verilir. Analiz başına dosyayı ayrı ayrı okumanın yerine geçer.
+ * <p>
+ * Sonuç, analizlerin kendi sonuçlarını tutar: {@code results.get(lineStats)}.
+ */
+public class FusedChunkProcessor implements ChunkProcessor<FusedChunkProcessor.Results> {
+
+    private final LineAnalysis<?>[] analyses;
+
+    public FusedChunkProcessor(LineAnalysis<?>... analyses) {
+        if (analyses.length == 0) throw new IllegalArgumentException("At least one analysis is required");
+        this.analyses = analyses.clone();
+    }
+
+    public FusedChunkProcessor(List<? extends LineAnalysis<?>> analyses) {
+        this(analyses.toArray(new LineAnalysis<?>[0]));
+    }
+
+    @Override
+    public Results newResult() {
+        Object[] values = new Object[analyses.length];
+        for (int i = 0; i < analyses.length; i++) {
+            values[i] = analyses[i].newResult();
+        }
+        return new Results(analyses, values);
+    }
+
+    @Override
+    public void process(FileChunk<String> chunk, Results results) {
+        String text = chunk.getData();
+        Object[] values = results.values;
+        for (int start = 0, length = text.length(); start < length; ) {
+            int end = LineAnalysis.lineEnd(text, start);
+            for (int i = 0; i < analyses.length; i++) {
+                acceptLine(analyses[i], text, start, end, values[i]);
+            }
+            start = end;
+        }
+    }
+
+    @Override
+    public void merge(Results target, Results source) {
+        for (int i = 0; i < analyses.length; i++) {
+            merge(analyses[i], target.values[i], source.values[i]);
+        }
+    }
+
+    public List<LineAnalysis<?>> getAnalyses() {
+        return List.of(analyses);
+    }
+
+    // Değer dizisi analizlerin newResult()'ıyla aynı sırada doldurulduğu için dönüşümler güvenli
+    @SuppressWarnings("unchecked")
+    private static <R> void acceptLine(LineAnalysis<R> analysis, String text, int start, int end, Object result) {
+        analysis.acceptLine(text, start, end, (R) result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> void merge(LineAnalysis<R> analysis, Object target, Object source) {
+        analysis.merge((R) target, (R) source);
+    }
+
+    // Analiz başına bir sonuç, analizlerle aynı sırada
+    public static final class Results {
+        private final LineAnalysis<?>[] analyses;
+        private final Object[] values;
+
+        private Results(LineAnalysis<?>[] analyses, Object[] values) {
+            this.analyses = analyses;
+            this.values = values;
+        }
+
+        // Analiz, bu sonucu üreten FusedChunkProcessor'a verilen nesnenin kendisi olmalıdır
+        @SuppressWarnings("unchecked")
+        public <R> R get(LineAnalysis<R> analysis) {
+            for (int i = 0; i < analyses.length; i++) {
+                if (analyses[i] == analysis) {
+                    return (R) values[i];
+                }
+            }
+            throw new IllegalArgumentException("Analysis is not part of this fused run");
+        }
+
+        @Override
+        public String toString() {
+            return "Results" + Arrays.toString(values);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package service;
+
+import exception.FileProcessingException;
+import model.FileChunk;
+import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
+import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+
+/**
+ * Önceki çalıştırmaların chunk sayımlarını {@link CheckpointCache}'ten yeniden kullanan işlemci.
+ * <p>
+ * Chunk sınırları sadece dosyanın başından itibaren içeriğe bağlıdır (her chunk, başından chunkBytes
+ * sonraki ilk satır sonunda biter), bu yüzden dosyanın sonuna ekleme yapıldığında önceki chunk'lar
+ * aynı kalır. Tekrar çalıştırmada:
+ * <ul>
+ *   <li>boyut ve mtime aynıysa tüm sayımlar dosya okunmadan önbellekten gelir;</li>
+ *   <li>dosya büyüdüyse önbellekteki chunk'lar CRC32C ile doğrulanır, ilk uyuşmayan chunk'tan
+ *       itibaren (ve EOF'ta kesilmiş son chunk'tan itibaren) yeniden sayılır;</li>
+ *   <li>dosya küçüldüyse her şey baştan sayılır.</li>
+ * </ul>
+ * {@link #setTrustAppendOnly(boolean)} açıkken sadece son önbellek chunk'ı doğrulanır, böylece
+ * sadece sonuna yazılan loglarda tekrar çalıştırmanın maliyeti yeni veriyle orantılı olur.
+ */
+public class IncrementalProcessor {
+
+    private static final int DEFAULT_CHUNK_BYTES = 1024 * 1024;
+
+    private final CheckpointCache cache;
+    private final WordProcessor processor;
+    private final PerformanceMetrics metrics;
+    private final int threadPoolSize;
+    private final int chunkBytes;
+    private boolean trustAppendOnly;
+
+    public IncrementalProcessor(int threadPoolSize, Path cacheDirectory) {
+        this(threadPoolSize, cacheDirectory, DEFAULT_CHUNK_BYTES);
+    }
+
+    public IncrementalProcessor(int threadPoolSize, Path cacheDirectory, int chunkBytes) {
+        if (threadPoolSize <= 0) throw new IllegalArgumentException("Thread pool size must be > 0");
+        if (chunkBytes <= 0) throw new IllegalArgumentException("Chunk bytes must be > 0");
+
+        this.cache = new CheckpointCache(cacheDirectory);
+        this.processor = new WordProcessor();
+        this.metrics = new PerformanceMetrics();
+        this.threadPoolSize = threadPoolSize;
+        this.chunkBytes = chunkBytes;
+    }
+
+    // true ise büyüyen dosyada sadece son önbellek chunk'ı doğrulanır, öncekiler okunmadan kullanılır
+    public void setTrustAppendOnly(boolean trustAppendOnly) {
+        this.trustAppendOnly = trustAppendOnly;
+    }
+
+    public WordCounts processFile(String filename) throws FileProcessingException {
+        Path file = Path.of(filename);
+        ExecutorService executor = ThreadMode.PLATFORM.newExecutor(threadPoolSize);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            metrics.startMeasurement(filename, threadPoolSize);
+
+            long size = channel.size();
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+            // Önbellekten kullanılabilecek chunk'lar
+            long verifyStart = System.nanoTime();
+            List<CheckpointCache.Chunk> reused = reusableChunks(channel, cache.load(file), size, lastModified);
+            long resumeAt = reused.isEmpty() ? 0 : reused.get(reused.size() - 1).getEnd();
+            metrics.recordStage(Stage.READ, System.nanoTime() - verifyStart);
+
+            // Kalan aralığı chunk'lara böl ve paralel say
+            long chunkStart = System.nanoTime();
+            List<Callable<CheckpointCache.Chunk>> tasks = new ArrayList<>();
+            for (long start = resumeAt; start < size; ) {
+                long end = start + chunkBytes >= size ? size : FileChunker.nextLineStart(channel, start + chunkBytes, size);
+                int id = reused.size() + tasks.size() + 1;
+                long rangeStart = start;
+                tasks.add(() -> countRange(channel, id, rangeStart, end));
+                start = end;
+            }
+            metrics.recordStage(Stage.CHUNK, System.nanoTime() - chunkStart);
+
+            List<CheckpointCache.Chunk> chunks = new ArrayList<>(reused);
+            for (Future<CheckpointCache.Chunk> future : executor.invokeAll(tasks)) {
+                chunks.add(future.get());
+            }
+
+            // Önbelleği merge'den önce yaz
+            cache.store(file, new CheckpointCache.Entry(size, lastModified, chunkBytes, chunks));
+
+            long mergeStart = System.nanoTime();
+            List<WordCounts> partials = new ArrayList<>(chunks.size());
+            for (CheckpointCache.Chunk chunk : chunks) {
+                partials.add(chunk.getCounts());
+            }
+            WordCounts finalResult = new ResultMerger(executor).reduce(partials);
+            metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+
+            System.out.printf("Checkpoint: %d chunks reused (%d bytes), %d chunks counted (%d bytes)%n",
+                    reused.size(), resumeAt, tasks.size(), size - resumeAt);
+            System.out.println("Toplam farklı kelime sayısı: " + finalResult.size());
+
+            metrics.endMeasurement();
+            metrics.printReport();
+            return finalResult;
+
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            throw new FileProcessingException("Error in incremental processing of " + filename, e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Önbellekteki chunk'lardan hâlâ geçerli olan önek
+    private List<CheckpointCache.Chunk> reusableChunks(FileChannel channel, CheckpointCache.Entry cached,
+                                                      long size, long lastModified) throws IOException {
+        if (cached == null || cached.getChunkBytes() != chunkBytes || size < cached.getSize()) {
+            return new ArrayList<>();
+        }
+        if (size == cached.getSize() && lastModified == cached.getLastModified()) {
+            return new ArrayList<>(cached.getChunks());
+        }
+
+        // EOF'ta kesilmiş son chunk dosya büyüyünce farklı bir sınırda biter, onu yeniden say
+        List<CheckpointCache.Chunk> candidates = new ArrayList<>();
+        for (CheckpointCache.Chunk chunk : cached.getChunks()) {
+            if (chunk.getEnd() == cached.getSize()) break;
+            candidates.add(chunk);
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(maxChunkLength(candidates));
+        if (trustAppendOnly && matches(channel, candidates.get(candidates.size() - 1), buffer)) {
+            return candidates;
+        }
+
+        // İlk uyuşmayan chunk'a kadar olanlar geçerli
+        for (int i = 0; i < candidates.size(); i++) {
+            if (!matches(channel, candidates.get(i), buffer)) {
+                return new ArrayList<>(candidates.subList(0, i));
+            }
+        }
+        return candidates;
+    }
+
+    private boolean matches(FileChannel channel, CheckpointCache.Chunk chunk, ByteBuffer buffer) throws IOException {
+        read(channel, chunk.getStart(), chunk.getEnd(), buffer);
+        return crc(buffer) == chunk.getCrc();
+    }
+
+    private CheckpointCache.Chunk countRange(FileChannel channel, int id, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+
+        long readStart = System.nanoTime();
+        read(channel, start, end, buffer);
+        int crc = crc(buffer);
+        metrics.recordStage(Stage.READ, System.nanoTime() - readStart);
+        metrics.recordChunkSize(end - start);
+
+        WordCountTable counts = new WordCountTable();
+        ProcessingResult<WordCounts> result = processor.processByteChunk(new FileChunk<>(id, buffer, start, end), counts);
+        if (!result.isSuccessful()) {
+            throw new IOException("Chunk " + id + " failed: " + result.getErrorMessage());
+        }
+        metrics.recordChunk(result.getProcessingTimeNanos());
+        return new CheckpointCache.Chunk(start, end, crc, counts);
+    }
+
+    // Positional read: aynı FileChannel'ı birden çok thread güvenle paylaşabilir
+    private static void read(FileChannel channel, long start, long end, ByteBuffer buffer) throws IOException {
+        buffer.clear().limit((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) == -1) break;
+        }
+        buffer.flip();
+    }
+
+    private static int crc(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static int maxChunkLength(List<CheckpointCache.Chunk> chunks) {
+        long max = 0;
+        for (CheckpointCache.Chunk chunk : chunks) {
+            max = Math.max(max, chunk.getSize());
+        }
+        return (int) max;
+    }
+}
@@ -0,0 +1,169 @@
+package service;
+
+import model.CharClassCounts;
+import model.FileChunk;
+import model.LineStats;
+import model.PatternCounts;
+import model.WordCountTable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hazır {@link LineAnalysis} gerçeklemeleri. Her biri tek başına bir işlemciye verilebilir ya da
+ * {@link FusedChunkProcessor} ile diğerleriyle aynı geçişte çalıştırılabilir:
+ * <pre>{@code
+ * LineAnalysis<LineStats> lines = LineAnalyses.lineStats();
+ * LineAnalysis<WordCountTable> words = LineAnalyses.wordCounts();
+ * FusedChunkProcessor.Results results = processor.processFile(file, new FusedChunkProcessor(lines, words));
+ * results.get(lines).getLongestLine();
+ * }</pre>
+ */
+public final class LineAnalyses {
+
+    private LineAnalyses() {
+    }
+
+    // WordProcessor ile aynı kelimeler; kelimeler satır sonunu aşmadığı için satır satır saymak aynı sonucu verir
+    public static LineAnalysis<WordCountTable> wordCounts() {
+        return new WordCountAnalysis();
+    }
+
+    // Satır ve byte sayısı, en uzun satır
+    public static LineAnalysis<LineStats> lineStats() {
+        return new LineStatsAnalysis();
+    }
+
+    public static LineAnalysis<CharClassCounts> charClasses() {
+        return new CharClassAnalysis();
+    }
+
+    /**
+     * Her regex için eşleşme ve eşleşen satır sayısı. Desenler satır satır (satır sonu hariç)
+     * aranır, bu yüzden ^ ve $ satır başı ve sonunda eşleşir ve bir eşleşme satır sonunu aşamaz.
+     */
+    public static LineAnalysis<PatternCounts> patterns(String... regexes) {
+        return new PatternAnalysis(regexes);
+    }
+
+    // ================================
+    // ANALYSES
+    // ================================
+    private static final class WordCountAnalysis implements LineAnalysis<WordCountTable> {
+        private final WordTokenizer tokenizer = new WordTokenizer();
+
+        @Override
+        public WordCountTable newResult() {
+            return new WordCountTable();
+        }
+
+        // Tek başına çalışırken chunk satırlara bölünmeden tek seferde tokenize edilir
+        @Override
+        public void process(FileChunk<String> chunk, WordCountTable result) {
+            tokenizer.tokenize(chunk.getData(), result::increment);
+        }
+
+        @Override
+        public void acceptLine(String text, int start, int end, WordCountTable result) {
+            tokenizer.tokenize(text, start, end, result::increment);
+        }
+
+        @Override
+        public void merge(WordCountTable target, WordCountTable source) {
+            target.addAll(source);
+        }
+    }
+
+    private static final class LineStatsAnalysis implements LineAnalysis<LineStats> {
+
+        @Override
+        public LineStats newResult() {
+            return new LineStats();
+        }
+
+        @Override
+        public void acceptLine(String text, int start, int end, LineStats result) {
+            result.addLine(text, start, end);
+        }
+
+        @Override
+        public void merge(LineStats target, LineStats source) {
+            target.addAll(source);
+        }
+    }
+
+    private static final class CharClassAnalysis implements LineAnalysis<CharClassCounts> {
+
+        @Override
+        public CharClassCounts newResult() {
+            return new CharClassCounts();
+        }
+
+        // Histogram satır sınırlarına bağlı değil
+        @Override
+        public void process(FileChunk<String> chunk, CharClassCounts result) {
+            String text = chunk.getData();
+            result.count(text, 0, text.length());
+        }
+
+        @Override
+        public void acceptLine(String text, int start, int end, CharClassCounts result) {
+            result.count(text, start, end);
+        }
+
+        @Override
+        public void merge(CharClassCounts target, CharClassCounts source) {
+            target.addAll(source);
+        }
+    }
+
+    private static final class PatternAnalysis implements LineAnalysis<PatternCounts> {
+        private final String[] regexes;
+        private final Pattern[] patterns;
+
+        // Matcher thread-safe değil; her thread kendi matcher'larını satırlar arasında tekrar kullanır
+        private final ThreadLocal<Matcher[]> matchers;
+
+        PatternAnalysis(String[] regexes) {
+            if (regexes.length == 0) throw new IllegalArgumentException("At least one pattern is required");
+            this.regexes = regexes.clone();
+            this.patterns = new Pattern[regexes.length];
+            for (int i = 0; i < regexes.length; i++) {
+                patterns[i] = Pattern.compile(regexes[i]);
+            }
+            this.matchers = ThreadLocal.withInitial(() -> {
+                Matcher[] perThread = new Matcher[patterns.length];
+                for (int i = 0; i < patterns.length; i++) {
+                    perThread[i] = patterns[i].matcher("");
+                }
+                return perThread;
+            });
+        }
+
+        @Override
+        public PatternCounts newResult() {
+            return new PatternCounts(regexes);
+        }
+
+        @Override
+        public void acceptLine(String text, int start, int end, PatternCounts result) {
+            if (end > start && text.charAt(end - 1) == '\n') end--;
+            if (end > start && text.charAt(end - 1) == '\r') end--;
+
+            Matcher[] lineMatchers = matchers.get();
+            for (int i = 0; i < lineMatchers.length; i++) {
+                Matcher matcher = lineMatchers[i].reset(text).region(start, end);
+                int matchCount = 0;
+                while (matcher.find()) {
+                    matchCount++;
+                }
+                result.addMatches(i, matchCount);
+            }
+        }
+
+        @Override
+        public void merge(PatternCounts target, PatternCounts source) {
+            target.addAll(source);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package service;
+
+import model.FileChunk;
+
+/**
+ * Satır satır çalışan bir {@link ChunkProcessor}. Tek başına kullanıldığında chunk'ı kendisi
+ * satırlara böler; {@link FusedChunkProcessor} içinde ise chunk bir kez bölünür ve her satır
+ * sırayla tüm analizlere verilir.
+ */
+public interface LineAnalysis<R> extends ChunkProcessor<R> {
+
+    /**
+     * text[start, end) bir satırdır; varsa satır sonu ('\n' ya da "\r\n") dahildir. Sadece dosyanın
+     * son satırı sonlandırılmamış olabilir; chunk'lar her modda satır sonunda biter.
+     */
+    void acceptLine(String text, int start, int end, R result);
+
+    @Override
+    default void process(FileChunk<String> chunk, R result) {
+        String text = chunk.getData();
+        for (int start = 0, length = text.length(); start < length; ) {
+            int end = lineEnd(text, start);
+            acceptLine(text, start, end, result);
+            start = end;
+        }
+    }
+
+    // start'tan başlayan satırın sonu: '\n'in hemen arkası, yoksa metnin sonu
+    static int lineEnd(String text, int start) {
+        int newline = text.indexOf('\n', start);
+        return newline < 0 ? text.length() : newline + 1;
+    }
+}
@@ -1,76 +1,337 @@
 package service;
 
-
+import exception.FileProcessingException;
+import model.ApproximateCounts;
 import model.FileChunk;
+import model.IdCounts;
 import model.ProcessingResult;
+import model.WordCounts;
+import model.WordDictionary;
 import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
+import util.WordIndexReader;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.concurrent.*;
 import java.util.*;
 
 public class MultiThreadedProcessor {
+    // Virtual thread'ler ucuz olduğundan I/O için daha fazla chunk aynı anda uçuşta olabilir
+    private static final int VIRTUAL_MAX_IN_FLIGHT = 64;
+
     private final FileChunker chunker;
     private final WordProcessor processor;
     private final PerformanceMetrics metrics;
     private final int threadPoolSize;
+    private final ThreadMode threadMode;
+
+    // VIRTUAL modda aynı anda sayım yapan görev sayısını threadPoolSize ile sınırlar
+    private final Semaphore countingPermits;
+
+    // true ise MAPPED chunk'lar String'e çevrilmeden, byte dilimleri üzerinde sayılır
+    private boolean byteLevelCounting;
+
+    // true ise chunk'lar çalıştırma başına paylaşılan bir sözlüğün id'leriyle sayılır
+    private boolean sharedDictionary;
+    private WordDictionary dictionary;
 
     public MultiThreadedProcessor(int threadPoolSize) {
-        this.chunker = new FileChunker(1000);
+        this(threadPoolSize, new FileChunker(1000));
+    }
+
+    public MultiThreadedProcessor(int threadPoolSize, FileChunker chunker) {
+        this(threadPoolSize, chunker, ThreadMode.PLATFORM);
+    }
+
+    public MultiThreadedProcessor(int threadPoolSize, FileChunker chunker, ThreadMode threadMode) {
+        this.chunker = chunker;
         this.processor = new WordProcessor();
         this.metrics = new PerformanceMetrics();
         this.threadPoolSize = threadPoolSize;
+        this.threadMode = threadMode;
+        this.countingPermits = new Semaphore(threadPoolSize);
     }
 
-    public void processFile(String filename) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadPoolSize);
-
-        try {
-            metrics.startMeasurement(filename, threadPoolSize);
+    public void setByteLevelCounting(boolean byteLevelCounting) {
+        if (byteLevelCounting && chunker.getMode() != FileChunker.Mode.MAPPED) {
+            throw new IllegalArgumentException("Byte-level counting requires a MAPPED chunker");
+        }
+        this.byteLevelCounting = byteLevelCounting;
+    }
 
-            // Dosyayı chunk'lara böl
-            List<FileChunk<String>> chunks = chunker.createChunks(filename);
-            System.out.println("Toplam chunk sayısı: " + chunks.size());
+    /**
+     * Chunk'lar kendi kelime tablolarını kurmak yerine tek bir {@link WordDictionary}'den id alır ve
+     * {@link IdCounts} dizilerine sayar; tekrar eden kelimeler için chunk başına String tutulmaz ve
+     * merge dizi toplamına dönüşür. Kelime dağarcığı küçük girdiler içindir.
+     */
+    public void setSharedDictionary(boolean sharedDictionary) {
+        this.sharedDictionary = sharedDictionary;
+    }
 
-            // Callable görev listesi oluştur
-            List<Callable<ProcessingResult<Integer>>> tasks = new ArrayList<>();
-            for (FileChunk chunk : chunks) {
-                tasks.add(() -> processor.processChunk(chunk));
-            }
+    // Birleştirilmiş kelime sayılarını döner, hata olursa null
+    public WordCounts processFile(String filename) {
+        ExecutorService executor = threadMode.newExecutor(threadPoolSize);
 
-            // Tüm görevleri çalıştır
-            List<Future<ProcessingResult<Integer>>> futures = executor.invokeAll(tasks);
+        try {
+            metrics.startMeasurement(filename, threadPoolSize);
+            dictionary = sharedDictionary ? new WordDictionary() : null;
 
-            // Future sonuçlarını topla
-            List<ProcessingResult<Integer>> results = new ArrayList<>();
-            for (Future<ProcessingResult<Integer>> future : futures) {
-                results.add(future.get());
-            }
+            List<ProcessingResult<WordCounts>> results = new ArrayList<>();
+            countChunks(filename, executor, this::countWords, results::add);
 
             // Sonuçları birleştir
-            Map<String, Integer> finalResult = mergeResults(results);
+            long mergeStart = System.nanoTime();
+            WordCounts finalResult = new ResultMerger(executor).merge(results);
+            metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
             System.out.println("Toplam farklı kelime sayısı: " + finalResult.size());
 
             // Metrics bitir ve rapor yazdır
             metrics.endMeasurement();
             metrics.printReport();
+            return finalResult;
 
         } catch (Exception e) {
             e.printStackTrace();
+            return null;
+        } finally {
+            dictionary = null;
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Dosyayı bellek sınırlı sayar: chunk sonuçları tamamlandıkça bir {@link SpillingAggregator}'a
+     * verilir, tablo memoryBudgetBytes'ı aşınca diske run olarak yazılır ve sonuçta run'lar
+     * indexFile'da birleştirilir. Farklı kelime sayısı belleğe sığmayan girdiler için.
+     * Dönen reader'ı kapatmak çağırana aittir.
+     */
+    public WordIndexReader processFileToIndex(String filename, Path indexFile, long memoryBudgetBytes)
+            throws FileProcessingException {
+        ExecutorService executor = threadMode.newExecutor(threadPoolSize);
+        Path spillParent = indexFile.toAbsolutePath().getParent();
+
+        try (SpillingAggregator aggregator = new SpillingAggregator(memoryBudgetBytes, spillParent)) {
+            metrics.startMeasurement(filename, threadPoolSize);
+
+            countChunks(filename, executor, this::countWords, result -> {
+                if (result.isSuccessful()) {
+                    long mergeStart = System.nanoTime();
+                    aggregator.add(result.getResults());
+                    metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+                }
+            });
+
+            long mergeStart = System.nanoTime();
+            aggregator.finish(indexFile);
+            metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+
+            WordIndexReader index = new WordIndexReader(indexFile);
+            System.out.printf("Spill: %d runs, %d entries spilled, %d intermediate merge passes%n",
+                    aggregator.getRunCount(), aggregator.getSpilledEntries(), aggregator.getMergePasses());
+            System.out.println("Toplam farklı kelime sayısı: " + index.size());
+
+            metrics.endMeasurement();
+            metrics.printReport();
+            return index;
+
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            throw new FileProcessingException("Error in external aggregation of " + filename, e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Yaklaşık sayım: her chunk, summary ile aynı ayarlarda kendi özetini üretir ve özetler
+     * tamamlandıkça summary'ye birleştirilir. Kelime tablosu hiç oluşturulmaz, bellek kullanımı
+     * (uçuştaki chunk sayısı x özet boyutu) kelime dağarcığından bağımsızdır.
+     */
+    public ApproximateCounts processFileApproximate(String filename, ApproximateCounts summary)
+            throws FileProcessingException {
+        ExecutorService executor = threadMode.newExecutor(threadPoolSize);
+
+        try {
+            metrics.startMeasurement(filename, threadPoolSize);
+
+            countChunks(filename, executor, chunk -> summarize(chunk, summary.emptyCopy()), result -> {
+                if (result.isSuccessful()) {
+                    long mergeStart = System.nanoTime();
+                    summary.addAll(result.getResults());
+                    metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+                }
+            });
+
+            System.out.printf("Tahmini farklı kelime sayısı: %d (özet boyutu %d KB)%n",
+                    summary.getDistinctEstimate(), summary.getMemoryBytes() / 1024);
+
+            metrics.endMeasurement();
+            metrics.printReport();
+            return summary;
+
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            throw new FileProcessingException("Error in approximate processing of " + filename, e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Dosyayı verilen analizle işler: her chunk kendi sonucunu üretir ve sonuçlar tamamlandıkça
+     * birleştirilir. Birden fazla analiz için {@link FusedChunkProcessor} verilebilir. Analizler
+     * String chunk'larla çalışır, byte-level counting ile kullanılamaz.
+     */
+    public <R> R processFile(String filename, ChunkProcessor<R> analysis) throws FileProcessingException {
+        if (byteLevelCounting) {
+            throw new IllegalArgumentException("Chunk analyses require String chunks; disable byte-level counting");
+        }
+        ExecutorService executor = threadMode.newExecutor(threadPoolSize);
+
+        try {
+            metrics.startMeasurement(filename, threadPoolSize);
+
+            R merged = analysis.newResult();
+            countChunks(filename, executor, chunk -> analysis.processChunk(asType(chunk), analysis.newResult()), result -> {
+                if (result.isSuccessful()) {
+                    long mergeStart = System.nanoTime();
+                    analysis.merge(merged, result.getResults());
+                    metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+                }
+            });
+
+            metrics.endMeasurement();
+            metrics.printReport();
+            return merged;
+
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            throw new FileProcessingException("Error in chunk analysis of " + filename, e);
         } finally {
             executor.shutdown();
         }
     }
 
-    private Map<String, Integer> mergeResults(List<ProcessingResult<Integer>> results) {
-        Map<String, Integer> merged = new HashMap<>();
+    /**
+     * Birden çok dosyayı işler: her dosya kendi görevinde (VIRTUAL modda kendi virtual thread'inde)
+     * okunur ve chunk'lara bölünür, böylece yavaş bir diskte bekleyen dosyalar diğerlerini durdurmaz.
+     * Sayım her iki modda da en fazla threadPoolSize görevde paralel çalışır.
+     */
+    public WordCounts processFiles(List<String> filenames) throws InterruptedException, ExecutionException {
+        ExecutorService executor = threadMode.newExecutor(threadPoolSize);
 
-        for (ProcessingResult<Integer> result : results) {
-            Map<String, Integer> map = result.getResults();
-            for (Map.Entry<String, Integer> entry : map.entrySet()) {
-                merged.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        try {
+            dictionary = sharedDictionary ? new WordDictionary() : null;
+            List<Callable<WordCounts>> tasks = new ArrayList<>();
+            for (String filename : filenames) {
+                tasks.add(() -> countFile(filename));
             }
+
+            List<WordCounts> perFile = new ArrayList<>();
+            for (Future<WordCounts> future : executor.invokeAll(tasks)) {
+                perFile.add(future.get());
+            }
+            return new ResultMerger(executor).reduce(perFile);
+        } finally {
+            dictionary = null;
+            executor.shutdown();
+        }
+    }
+
+    // Chunk'ları sırayla üretip sayar, aynı anda en fazla maxInFlight chunk bellekte tutulur;
+    // sonuçlar tamamlanma sırasıyla sink'e verilir
+    private <R> void countChunks(String filename, ExecutorService executor, ChunkTask<R> task, ResultSink<R> sink)
+            throws IOException, InterruptedException, ExecutionException {
+        // Okuma (READ) ve bölme/decode (CHUNK) süreleri chunk iterator'ının içinde kaydedilir
+        Iterator<? extends FileChunk<?>> chunks = iterateChunks(filename, metrics);
+        CompletionService<ProcessingResult<R>> completionService = new ExecutorCompletionService<>(executor);
+        int maxInFlight = threadMode == ThreadMode.VIRTUAL ? VIRTUAL_MAX_IN_FLIGHT : threadPoolSize * 2;
+        int inFlight = 0;
+        int chunkCount = 0;
+
+        while (chunks.hasNext()) {
+            if (inFlight == maxInFlight) {
+                sink.accept(completionService.take().get());
+                inFlight--;
+            }
+            FileChunk<?> chunk = chunks.next();
+            if (chunker.getMode() == FileChunker.Mode.MAPPED) {
+                metrics.recordChunkSize(chunk.getSize());   // LINES modunda pozisyonlar satır numarasıdır
+            }
+            completionService.submit(() -> runChunk(chunk, task));
+            inFlight++;
+            chunkCount++;
+        }
+
+        // Kalan sonuçları topla
+        while (inFlight > 0) {
+            sink.accept(completionService.take().get());
+            inFlight--;
         }
+        System.out.println("Toplam chunk sayısı: " + chunkCount);
+    }
+
+    private WordCounts countFile(String filename) throws Exception {
+        Iterator<? extends FileChunk<?>> chunks = iterateChunks(filename, null);
+        List<ProcessingResult<WordCounts>> results = new ArrayList<>();
+        while (chunks.hasNext()) {
+            results.add(countChunk(chunks.next()));
+        }
+        return new ResultMerger().merge(results);
+    }
+
+    private Iterator<? extends FileChunk<?>> iterateChunks(String filename, PerformanceMetrics metrics)
+            throws IOException {
+        return byteLevelCounting
+                ? chunker.iterateByteChunks(filename, metrics)
+                : chunker.iterateChunks(filename, metrics);
+    }
+
+    private ProcessingResult<WordCounts> countChunk(FileChunk<?> chunk) throws InterruptedException {
+        return runChunk(chunk, this::countWords);
+    }
+
+    private ProcessingResult<WordCounts> countWords(FileChunk<?> chunk) {
+        if (dictionary != null) {
+            return byteLevelCounting
+                    ? processor.processByteChunk(asType(chunk), new IdCounts(dictionary))
+                    : processor.processChunk(asType(chunk), new IdCounts(dictionary));
+        }
+        return byteLevelCounting
+                ? processor.processByteChunk(asType(chunk))
+                : processor.processChunk(asType(chunk));
+    }
+
+    private ProcessingResult<ApproximateCounts> summarize(FileChunk<?> chunk, ApproximateCounts target) {
+        return byteLevelCounting
+                ? processor.processByteChunk(asType(chunk), target)
+                : processor.processChunk(asType(chunk), target);
+    }
+
+    private <R> ProcessingResult<R> runChunk(FileChunk<?> chunk, ChunkTask<R> task) throws InterruptedException {
+        if (threadMode == ThreadMode.VIRTUAL) {
+            countingPermits.acquire();
+        }
+        try {
+            ProcessingResult<R> result = task.process(chunk);
+            metrics.recordChunk(result.getProcessingTimeNanos());
+            return result;
+        } finally {
+            if (threadMode == ThreadMode.VIRTUAL) {
+                countingPermits.release();
+            }
+        }
+    }
+
+    private interface ChunkTask<R> {
+        ProcessingResult<R> process(FileChunk<?> chunk);
+    }
+
+    private interface ResultSink<R> {
+        void accept(ProcessingResult<R> result) throws IOException;
+    }
 
-        return merged;
+    // Chunk tipi byteLevelCounting ile belirlendiği için dönüşüm güvenli
+    @SuppressWarnings("unchecked")
+    private static <T> FileChunk<T> asType(FileChunk<?> chunk) {
+        return (FileChunk<T>) chunk;
     }
 }
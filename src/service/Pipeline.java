@@ -0,0 +1,369 @@
+package service;
+
+import exception.FileProcessingException;
+import util.BlockingQueueHandoff;
+import util.ChunkHandoff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Aşamalardan oluşan genel işlem hattı: kaynak → aşama → ... → birleştirme. Kaynak dışındaki her
+ * aşamanın kendi sınırlı giriş kuyruğu ve worker sayısı vardır; bir aşama yetişemezse kuyruğu dolar ve
+ * önceki aşama beklemeye başlar, böylece doymuş aşama istatistiklerden görülür ve sadece onun worker
+ * sayısı artırılabilir.
+ * <p>
+ * Her aşama için işlenen eleman sayısı, meşgul süre, girdi beklerken geçen boş süre, dolu çıkış
+ * kuyruğunda bloklanma süresi ve giriş kuyruğu doluluğu (çalışma boyunca periyodik örneklenir)
+ * tutulur. Aynı pipeline birden fazla kez çalıştırılabilir; istatistikler her run()'da sıfırlanır.
+ * <pre>
+ * Pipeline&lt;WordCountTable&gt; pipeline = Pipeline.source("read", reader)
+ *         .stage("split", 1, 16, LineSplitter::new)
+ *         .stage("count", 4, 64, Counter::new)
+ *         .merge("merge", 64, WordCountTable::new, WordCountTable::addAll);
+ * WordCountTable counts = pipeline.run();
+ * pipeline.printReport();
+ * </pre>
+ * Hazır yapılandırmalar için bkz. {@link WordCountPipelines}.
+ */
+public class Pipeline<R> {
+
+    // Kuyruk doluluğu bu aralıkla örneklenir (run()'ı çağıran thread tarafından)
+    private static final long SAMPLE_INTERVAL_MILLIS = 5;
+
+    public interface Emitter<T> {
+        // Sonraki aşamanın kuyruğunda yer açılana kadar bekler
+        void emit(T item) throws InterruptedException;
+    }
+
+    // İlk aşama; tek thread'de çalışır ve elemanları üretip emit eder
+    public interface Source<T> {
+        void produce(Emitter<T> out) throws Exception;
+    }
+
+    /**
+     * Aşama worker'ı. Her worker thread'i kendi örneğini alır, bu yüzden durum tutabilir (ör. yerel
+     * sayım tablosu); finish girdi bittiğinde bir kez çağrılır ve biriktirilenleri emit edebilir.
+     */
+    public interface Worker<I, O> {
+        void process(I item, Emitter<O> out) throws Exception;
+
+        default void finish(Emitter<O> out) throws Exception {
+        }
+    }
+
+    private final List<StageSpec> specs;
+    private final Supplier<R> resultFactory;
+    private final BiConsumer<R, Object> merger;
+    private final List<StageStats> stats = new ArrayList<>();
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private long wallNanos;
+
+    private Pipeline(List<StageSpec> specs, Supplier<R> resultFactory, BiConsumer<R, Object> merger) {
+        this.specs = specs;
+        this.resultFactory = resultFactory;
+        this.merger = merger;
+        for (StageSpec spec : specs) {
+            stats.add(new StageStats(spec.name, spec.workers, spec.queueCapacity));
+        }
+    }
+
+    public static <T> Builder<T> source(String name, Source<T> source) {
+        List<StageSpec> specs = new ArrayList<>();
+        specs.add(new StageSpec(name, 1, 0, source, null));
+        return new Builder<>(specs);
+    }
+
+    public static final class Builder<T> {
+        private final List<StageSpec> specs;
+
+        private Builder(List<StageSpec> specs) {
+            this.specs = specs;
+        }
+
+        public <O> Builder<O> stage(String name, int workers, int queueCapacity,
+                                    Supplier<? extends Worker<T, O>> worker) {
+            if (workers <= 0) throw new IllegalArgumentException("Workers must be > 0");
+            if (queueCapacity <= 0) throw new IllegalArgumentException("Queue capacity must be > 0");
+            specs.add(new StageSpec(name, workers, queueCapacity, null, worker));
+            return new Builder<>(specs);
+        }
+
+        // Son aşama: tek worker her elemanı sonuç nesnesine ekler
+        @SuppressWarnings("unchecked")
+        public <R> Pipeline<R> merge(String name, int queueCapacity, Supplier<R> resultFactory, BiConsumer<R, T> merger) {
+            if (queueCapacity <= 0) throw new IllegalArgumentException("Queue capacity must be > 0");
+            specs.add(new StageSpec(name, 1, queueCapacity, null, null));
+            return new Pipeline<>(List.copyOf(specs), resultFactory, (BiConsumer<R, Object>) merger);
+        }
+    }
+
+    /**
+     * VIRTUAL modda her worker kendi virtual thread'inde çalışır; I/O ağırlıklı aşamalar
+     * (okuma) platform thread'i tutmaz.
+     */
+    public void setThreadMode(ThreadMode threadMode) {
+        this.threadMode = threadMode;
+    }
+
+    public R run() throws FileProcessingException {
+        int stageCount = specs.size();
+        List<ChunkHandoff<Object>> queues = new ArrayList<>(stageCount);   // queues[i]: i. aşamanın girişi
+        int totalWorkers = 0;
+        for (int i = 0; i < stageCount; i++) {
+            StageSpec spec = specs.get(i);
+            queues.add(i == 0 ? null : new BlockingQueueHandoff<>(spec.queueCapacity));
+            stats.get(i).reset();
+            totalWorkers += spec.workers;
+        }
+
+        R result = resultFactory.get();
+        CountDownLatch finished = new CountDownLatch(totalWorkers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = threadMode.newExecutor(totalWorkers);
+        long start = System.nanoTime();
+
+        try {
+            for (int i = 0; i < stageCount; i++) {
+                StageSpec spec = specs.get(i);
+                AtomicInteger running = new AtomicInteger(spec.workers);
+                for (int w = 0; w < spec.workers; w++) {
+                    executor.execute(new StageRunner(i, running, queues, result, finished, failure, executor));
+                }
+            }
+
+            // Worker'lar bitene kadar kuyruk doluluğunu örnekle
+            while (!finished.await(SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                for (int i = 1; i < stageCount; i++) {
+                    stats.get(i).sampleOccupancy(queues.get(i).size());
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new FileProcessingException("Pipeline interrupted", e);
+        } finally {
+            executor.shutdown();
+            wallNanos = System.nanoTime() - start;
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new FileProcessingException("Pipeline failed: " + cause.getMessage(), cause);
+        }
+        return result;
+    }
+
+    public List<StageStats> getStageStats() {
+        return Collections.unmodifiableList(stats);
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public void printReport() {
+        System.out.printf("=== Pipeline Report (%.3f ms) ===%n", wallNanos / 1e6);
+        System.out.printf("%-12s %7s %9s %9s %11s %11s %11s %6s %14s%n",
+                "stage", "workers", "in", "out", "busy ms", "idle ms", "blocked ms", "util", "queue mean/max");
+        for (StageStats stage : stats) {
+            String occupancy = stage.getQueueCapacity() == 0 ? "-"
+                    : String.format("%.1f/%d of %d", stage.getMeanOccupancy(), stage.getMaxOccupancy(), stage.getQueueCapacity());
+            System.out.printf("%-12s %7d %9d %9d %11.3f %11.3f %11.3f %5.1f%% %14s%n",
+                    stage.getName(), stage.getWorkers(), stage.getItemsIn(), stage.getItemsOut(),
+                    stage.getBusyNanos() / 1e6, stage.getIdleNanos() / 1e6, stage.getBlockedNanos() / 1e6,
+                    stage.getUtilization() * 100, occupancy);
+        }
+        System.out.println("===========================");
+    }
+
+    // Bir aşamanın tek worker'ı: girdi kuyruğunu tüketir, bitince (son worker ise) sonraki kuyruğu kapatır
+    private class StageRunner implements Runnable {
+        private final int index;
+        private final AtomicInteger running;
+        private final List<ChunkHandoff<Object>> queues;
+        private final R result;
+        private final CountDownLatch finished;
+        private final AtomicReference<Throwable> failure;
+        private final ExecutorService executor;
+        private final StageStats stageStats;
+        private final ChunkHandoff<Object> output;
+        private long blockedNanos;                 // emit içinde bekleme, meşgul süreden düşülür
+
+        StageRunner(int index, AtomicInteger running, List<ChunkHandoff<Object>> queues, R result,
+                    CountDownLatch finished, AtomicReference<Throwable> failure, ExecutorService executor) {
+            this.index = index;
+            this.running = running;
+            this.queues = queues;
+            this.result = result;
+            this.finished = finished;
+            this.failure = failure;
+            this.executor = executor;
+            this.stageStats = stats.get(index);
+            this.output = index + 1 < queues.size() ? queues.get(index + 1) : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            StageSpec spec = specs.get(index);
+            Emitter<Object> emitter = this::emit;
+            try {
+                if (spec.source != null) {
+                    timed(() -> ((Source<Object>) spec.source).produce(emitter));
+                } else if (output == null) {
+                    consume(item -> merger.accept(result, item));
+                } else {
+                    Worker<Object, Object> worker = (Worker<Object, Object>) spec.worker.get();
+                    consume(item -> worker.process(item, emitter));
+                    timed(() -> worker.finish(emitter));
+                }
+            } catch (InterruptedException e) {
+                // Başka bir aşama hata verdi ve pipeline durduruluyor
+                Thread.currentThread().interrupt();
+            } catch (Exception | Error e) {
+                IllegalStateException stageFailure =
+                        new IllegalStateException("Stage '" + spec.name + "' failed: " + e.getMessage(), e);
+                if (failure.compareAndSet(null, stageFailure)) {
+                    // Diğer worker'ları kes; henüz başlamamış olanlar hiç çalışmayacağı için bitmiş sayılır
+                    for (Runnable dropped : executor.shutdownNow()) {
+                        finished.countDown();
+                    }
+                }
+            } finally {
+                if (running.decrementAndGet() == 0 && output != null) {
+                    output.complete();
+                }
+                finished.countDown();
+            }
+        }
+
+        private void consume(ItemAction action) throws Exception {
+            ChunkHandoff<Object> input = queues.get(index);
+            List<Object> batch = new ArrayList<>(1);
+            while (true) {
+                long waitStart = System.nanoTime();
+                int taken = input.takeBatch(batch, 1);
+                stageStats.idleNanos.add(System.nanoTime() - waitStart);
+                if (taken < 0) {
+                    return;
+                }
+                for (Object item : batch) {
+                    stageStats.itemsIn.increment();
+                    timed(() -> action.accept(item));
+                }
+                batch.clear();
+            }
+        }
+
+        private void timed(Action action) throws Exception {
+            long blockedBefore = blockedNanos;
+            long start = System.nanoTime();
+            action.run();
+            stageStats.busyNanos.add(System.nanoTime() - start - (blockedNanos - blockedBefore));
+        }
+
+        private void emit(Object item) throws InterruptedException {
+            long start = System.nanoTime();
+            output.put(item);
+            long blocked = System.nanoTime() - start;
+            blockedNanos += blocked;
+            stageStats.blockedNanos.add(blocked);
+            stageStats.itemsOut.increment();
+        }
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private interface ItemAction {
+        void accept(Object item) throws Exception;
+    }
+
+    private static final class StageSpec {
+        final String name;
+        final int workers;
+        final int queueCapacity;          // Giriş kuyruğu; kaynakta 0
+        final Source<?> source;           // Sadece ilk aşamada
+        final Supplier<? extends Worker<?, ?>> worker;   // Ara aşamalarda
+
+        StageSpec(String name, int workers, int queueCapacity, Source<?> source, Supplier<? extends Worker<?, ?>> worker) {
+            this.name = name;
+            this.workers = workers;
+            this.queueCapacity = queueCapacity;
+            this.source = source;
+            this.worker = worker;
+        }
+    }
+
+    // Bir aşamanın tüm worker'ları üzerinden toplanan süreler ve giriş kuyruğu doluluğu
+    public static final class StageStats {
+        private final String name;
+        private final int workers;
+        private final int queueCapacity;
+        private final LongAdder itemsIn = new LongAdder();
+        private final LongAdder itemsOut = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+        private final LongAdder idleNanos = new LongAdder();
+        private final LongAdder blockedNanos = new LongAdder();
+        // Sadece örnekleyen thread yazar
+        private long occupancySamples;
+        private long occupancySum;
+        private int maxOccupancy;
+
+        StageStats(String name, int workers, int queueCapacity) {
+            this.name = name;
+            this.workers = workers;
+            this.queueCapacity = queueCapacity;
+        }
+
+        void reset() {
+            itemsIn.reset();
+            itemsOut.reset();
+            busyNanos.reset();
+            idleNanos.reset();
+            blockedNanos.reset();
+            occupancySamples = 0;
+            occupancySum = 0;
+            maxOccupancy = 0;
+        }
+
+        void sampleOccupancy(int size) {
+            occupancySamples++;
+            occupancySum += size;
+            maxOccupancy = Math.max(maxOccupancy, size);
+        }
+
+        public String getName() { return name; }
+        public int getWorkers() { return workers; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public long getItemsIn() { return itemsIn.sum(); }
+        public long getItemsOut() { return itemsOut.sum(); }
+        public long getBusyNanos() { return busyNanos.sum(); }
+        public long getIdleNanos() { return idleNanos.sum(); }
+        public long getBlockedNanos() { return blockedNanos.sum(); }
+        public int getMaxOccupancy() { return maxOccupancy; }
+
+        // Ortalama giriş kuyruğu eleman sayısı
+        public double getMeanOccupancy() {
+            return occupancySamples == 0 ? 0 : (double) occupancySum / occupancySamples;
+        }
+
+        // Meşgul sürenin worker'ların toplam süresine oranı (boş ve bloklu süreler hariç)
+        public double getUtilization() {
+            long busy = getBusyNanos();
+            long total = busy + getIdleNanos() + getBlockedNanos();
+            return total == 0 ? 0 : (double) busy / total;
+        }
+    }
+}
@@ -4,31 +4,83 @@ package service;
 import exception.FileProcessingException;
 import model.FileChunk;
 import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
+import util.BlockingQueueHandoff;
+import util.AsyncFileReader;
+import util.ByteBudget;
+import util.ByteScanner;
+import util.ChunkHandoff;
 import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
 
 
 public class ProducerConsumerProcessor {
 
+    // Adaptive modda kuyruk doluluğu ve consumer kullanımı bu aralıkla örneklenir
+    private static final long SCALE_INTERVAL_MILLIS = 50;
+    private static final double SCALE_UP_OCCUPANCY = 0.75;       // kuyruk bu oranın üstündeyse consumer'lar yetişemiyor
+    private static final double SCALE_UP_UTILIZATION = 0.75;     // ...ve consumer'lar gerçekten meşgulse (kilit/CPU beklemiyorsa)
+    private static final double SCALE_DOWN_OCCUPANCY = 0.10;     // kuyruk bu oranın altındaysa producer yavaş
+    private static final double SCALE_DOWN_UTILIZATION = 0.50;   // consumer'lar zamanlarının yarısından fazlası boşta
+    private static final int SCALE_STREAK = 2;                   // karar için art arda gereken örnek sayısı
+
     // Configuration
     private final int queueSize;
     private final int consumerCount;
-    private final int chunkSize;
+    private final int chunkSize;                  // satır
+    private int chunkBytes;                        // > 0 ise chunk'lar satır sayısı yerine byte ile boyutlanır
+    private long maxInFlightBytes;                 // > 0 ise kuyruktaki + işlenmekte olan chunk byte'ları sınırı
+    private boolean localAccumulation;
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private int countingParallelism = Runtime.getRuntime().availableProcessors();
+    private int consumerBatchSize = 1;
+    private IntFunction<ChunkHandoff<FileChunk<String>>> handoffFactory = BlockingQueueHandoff::new;
+    private int minConsumers;                      // maxConsumers > 0 ise adaptive mod açık
+    private int maxConsumers;
+    private long pollIntervalMillis = 250;         // follow modunda yeni veri için en uzun bekleme
+    private int asyncQueueDepth;                   // > 0 ise producer bu kadar okumayı aynı anda uçuşta tutar
+    private int asyncReadSize;
 
     // Components
-    private final BlockingQueue<FileChunk<String>> queue;
-    private final List<ProcessingResult<Integer>> results;
+    private ChunkHandoff<FileChunk<String>> queue;        // Her processFile çağrısında yeniden oluşturulur
+    private ByteBudget inFlightBudget;                    // maxInFlightBytes verilmediyse null
+    private final List<ProcessingResult<WordCounts>> results;
     private final WordProcessor processor;
     private final PerformanceMetrics metrics;
 
-    // Poison pill
-    private static final FileChunk<String> POISON_PILL =
-            new FileChunk<>(-1, "POISON", -1, -1);
+    // Chunk istatistikleri (consumer'lar tarafından güncellenir)
+    private final AtomicInteger successfulChunks = new AtomicInteger();
+    private final AtomicInteger failedChunks = new AtomicInteger();
+    private final LongAdder totalProcessingTime = new LongAdder();     // ns
+
+    // Adaptive modda emekliye ayrılması istenen, henüz çıkmamış consumer sayısı
+    private final AtomicInteger pendingRetirements = new AtomicInteger();
+
+    // Follow modu: producer'ın devam edip etmeyeceği ve consumer'ların canlı tabloları
+    private volatile boolean following;
+    private List<WordCountTable> liveTables;       // follow dışında null
+
+    // processFile(filename, analysis) sırasında consumer'lar kelime yerine bu analizi çalıştırır
+    private AnalysisRun<?> analysisRun;
 
     // Thread management
     private ExecutorService producerExecutor;
@@ -46,7 +98,6 @@ public class ProducerConsumerProcessor {
         this.chunkSize = chunkSize;
 
         // Thread-safe collections
-        this.queue = new ArrayBlockingQueue<>(queueSize);
         this.results = Collections.synchronizedList(new ArrayList<>());
 
         // Components
@@ -56,39 +107,98 @@ public class ProducerConsumerProcessor {
 
     }
 
-    public void processFile(String filename) throws FileProcessingException {
+    /**
+     * true ise her consumer tek bir uzun ömürlü tabloya sayar ve bitişte sadece bir
+     * kısmi sonuç yayınlar; final merge N chunk yerine consumerCount tablo ile yapılır.
+     */
+    public void setLocalAccumulation(boolean localAccumulation) {
+        this.localAccumulation = localAccumulation;
+    }
 
+    /**
+     * VIRTUAL modda producer ve consumer'lar virtual thread'lerde çalışır; aynı anda sayım yapan
+     * consumer sayısı countingParallelism ile sınırlanır (varsayılan: işlemci sayısı).
+     */
+    public void setThreadMode(ThreadMode threadMode) {
+        this.threadMode = threadMode;
+    }
 
-        // Performance monitoring başlat
-        metrics.startMeasurement(filename, consumerCount);
+    public void setCountingParallelism(int countingParallelism) {
+        if (countingParallelism <= 0) throw new IllegalArgumentException("Counting parallelism must be > 0");
+        this.countingParallelism = countingParallelism;
+    }
 
-        try {
-            // Thread pools oluştur
-            producerExecutor = Executors.newSingleThreadExecutor();
-            consumerExecutor = Executors.newFixedThreadPool(consumerCount);
-
-            // Producer'ı başlat
-            Future<?> producerFuture = producerExecutor.submit(new Producer(filename));
-
-            // Consumer'ları başlat
-            List<Future<?>> consumerFutures = new ArrayList<>();
-            for (int i = 0; i < consumerCount; i++) {
-                Future<?> future = consumerExecutor.submit(new Consumer(i + 1));
-                consumerFutures.add(future);
-            }
+    /**
+     * Producer ile consumer'lar arasındaki kanalı değiştirir; fonksiyon queueSize alır.
+     * Varsayılan ArrayBlockingQueue tabanlı kanaldır, örneğin kilitsiz ring buffer için:
+     * {@code setHandoffFactory(capacity -> new RingBufferHandoff<>(capacity, WaitStrategy.YIELD))}
+     */
+    public void setHandoffFactory(IntFunction<ChunkHandoff<FileChunk<String>>> handoffFactory) {
+        this.handoffFactory = handoffFactory;
+    }
+
+    // Consumer'ın kanaldan tek seferde alabileceği en fazla chunk sayısı
+    public void setConsumerBatchSize(int consumerBatchSize) {
+        if (consumerBatchSize <= 0) throw new IllegalArgumentException("Consumer batch size must be > 0");
+        this.consumerBatchSize = consumerBatchSize;
+    }
 
-            // Producer'ın bitmesini bekle
-            producerFuture.get();
+    /**
+     * Chunk'ları satır sayısı yerine hedef byte boyutuna göre keser: chunk, hedefe ulaşan satırın
+     * sonunda kapanır, satırlar hiçbir zaman bölünmez. 0 verilirse constructor'daki satır sayısı kullanılır.
+     */
+    public void setChunkBytes(int chunkBytes) {
+        if (chunkBytes < 0) throw new IllegalArgumentException("Chunk bytes must be >= 0");
+        this.chunkBytes = chunkBytes;
+    }
 
+    /**
+     * Kuyrukta bekleyen ve işlenmekte olan chunk'ların toplam byte boyutunu sınırlar; bütçe dolunca
+     * producer bekler. queueSize chunk sayısını sınırladığı için çok uzun satırlı dosyalarda heap
+     * kullanımını tek başına kontrol edemez. 0 verilirse sınır yoktur.
+     */
+    public void setMaxInFlightBytes(long maxInFlightBytes) {
+        if (maxInFlightBytes < 0) throw new IllegalArgumentException("Max in-flight bytes must be >= 0");
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
 
-            // Consumer'ların bitmesini bekle
-            for (Future<?> future : consumerFutures) {
-                future.get();
-            }
+    /**
+     * Adaptive mod: consumerCount (sınırlar içine çekilerek) ile başlar, kuyruk doluluğu ve consumer
+     * kullanımını örnekleyerek kuyruk dolu kaldıkça consumer ekler, kuyruk boşaldıkça emekliye ayırır.
+     * Kararlar ve sonuçta oturulan consumer sayısı loglanır.
+     */
+    public void setAdaptiveConsumers(int minConsumers, int maxConsumers) {
+        if (minConsumers <= 0) throw new IllegalArgumentException("Min consumers must be > 0");
+        if (maxConsumers < minConsumers) throw new IllegalArgumentException("Max consumers must be >= min consumers");
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+    }
 
+    /**
+     * Producer dosyayı tek tek read() çağrıları yerine AsynchronousFileChannel ile okur: aynı anda
+     * queueDepth adet readSize'lık okuma uçuşta tutulur, bloklar havuzdaki buffer'lara okunup dosya
+     * sırasıyla taranır. Birden fazla bekleyen istekle hızlanan cihazlar (NVMe) için. Raporda okuma
+     * throughput'u ayrıca verilir. 0 verilirse sıralı okuma kullanılır; follow modu her zaman sıralı okur.
+     */
+    public void setAsyncReads(int queueDepth, int readSize) {
+        if (queueDepth < 0) throw new IllegalArgumentException("Queue depth must be >= 0");
+        if (queueDepth > 0 && readSize <= 0) throw new IllegalArgumentException("Read size must be > 0");
+        this.asyncQueueDepth = queueDepth;
+        this.asyncReadSize = readSize;
+    }
+
+    // Follow modunda yeni veri beklenirken WatchService olayı gelmezse en fazla bu kadar beklenir
+    public void setPollInterval(long pollIntervalMillis) {
+        if (pollIntervalMillis <= 0) throw new IllegalArgumentException("Poll interval must be > 0");
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public WordCounts processFile(String filename) throws FileProcessingException {
+        try {
+            runToCompletion(filename);
 
             // Sonuçları işle
-            processResults();
+            return processResults();
 
         } catch (InterruptedException | ExecutionException e) {
             throw new FileProcessingException("Error in producer-consumer processing", e);
@@ -99,161 +209,721 @@ public class ProducerConsumerProcessor {
         }
     }
 
+    /**
+     * Dosyayı verilen analizle işler: her consumer tüm chunk'larını kendi sonucuna ekler, bitişte
+     * consumer sonuçları birleştirilir. Birden fazla analiz için {@link FusedChunkProcessor}
+     * verilebilir. Local accumulation ayarından bağımsızdır; adaptive mod ve diğer ayarlar geçerlidir.
+     */
+    public <R> R processFile(String filename, ChunkProcessor<R> analysis) throws FileProcessingException {
+        AnalysisRun<R> run = new AnalysisRun<>(analysis);
+        analysisRun = run;
+        try {
+            runToCompletion(filename);
+
+            long mergeStart = System.nanoTime();
+            R merged = run.merge();
+            metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+
+            System.out.println("\n--- Processing Results ---");
+            System.out.println("Total chunks processed: " + (successfulChunks.get() + failedChunks.get()));
+            System.out.println("Failed chunks: " + failedChunks.get());
+            System.out.println("Partial results merged: " + run.partials.size());
+            return merged;
+
+        } catch (InterruptedException | ExecutionException e) {
+            throw new FileProcessingException("Error in producer-consumer analysis", e);
+        } finally {
+            analysisRun = null;
+            shutdownExecutors();
+            metrics.endMeasurement();
+            metrics.printReport();
+        }
+    }
+
+    // Producer ve consumer'ları başlatır ve hepsi bitene kadar bekler
+    private void runToCompletion(String filename) throws InterruptedException, ExecutionException {
+        boolean adaptive = maxConsumers > 0;
+        int initialConsumers = adaptive ? Math.min(Math.max(consumerCount, minConsumers), maxConsumers) : consumerCount;
+        resetState(filename, initialConsumers);
+
+        // Thread pools oluştur
+        producerExecutor = threadMode.newSingleExecutor();
+        consumerExecutor = threadMode.newExecutor(adaptive ? maxConsumers : consumerCount);
+        Semaphore countingPermits = threadMode == ThreadMode.VIRTUAL ? new Semaphore(countingParallelism) : null;
+
+        // Producer'ı başlat
+        Future<?> producerFuture = producerExecutor.submit(new Producer(filename));
+
+        // Consumer'ları başlat
+        List<Future<?>> consumerFutures = new ArrayList<>();
+        for (int i = 0; i < initialConsumers; i++) {
+            Future<?> future = consumerExecutor.submit(newConsumer(i + 1, countingPermits));
+            consumerFutures.add(future);
+        }
+
+        // Producer'ın bitmesini bekle; adaptive modda bu sırada consumer sayısı ayarlanır
+        if (adaptive) {
+            new ConsumerScaler(consumerFutures, countingPermits).run(producerFuture);
+        }
+        producerFuture.get();
+
+
+        // Consumer'ların bitmesini bekle
+        for (Future<?> future : consumerFutures) {
+            future.get();
+        }
+    }
+
+
+    /**
+     * Follow modu: dosyayı sonuna kadar okuduktan sonra büyümesini izlemeye devam eder (rotation ve
+     * truncation dahil). Consumer'lar kendi canlı tablolarına sayar; dönen oturumdan istenildiği an
+     * snapshot alınabilir, stop() okumayı bitirip final sonucu döner. Adaptive mod follow'da kullanılmaz.
+     */
+    public FollowSession follow(String filename) {
+        resetState(filename, consumerCount);
+        liveTables = new CopyOnWriteArrayList<>();
+        following = true;
+
+        producerExecutor = threadMode.newSingleExecutor();
+        consumerExecutor = threadMode.newExecutor(consumerCount);
+        Semaphore countingPermits = threadMode == ThreadMode.VIRTUAL ? new Semaphore(countingParallelism) : null;
+
+        Future<?> producerFuture = producerExecutor.submit(new Producer(filename, true));
+        List<Future<?>> consumerFutures = new ArrayList<>();
+        for (int i = 0; i < consumerCount; i++) {
+            consumerFutures.add(consumerExecutor.submit(newConsumer(i + 1, countingPermits)));
+        }
+        return new FollowSession(liveTables, producerFuture, consumerFutures);
+    }
+
+    // Her çalıştırmadan önce kanal, sayaçlar ve ölçüm sıfırlanır
+    private void resetState(String filename, int threadCount) {
+        queue = handoffFactory.apply(queueSize);
+        inFlightBudget = maxInFlightBytes > 0 ? new ByteBudget(maxInFlightBytes) : null;
+        liveTables = null;
+        results.clear();
+        successfulChunks.set(0);
+        failedChunks.set(0);
+        totalProcessingTime.reset();
+        pendingRetirements.set(0);
+
+        // Performance monitoring başlat
+        metrics.startMeasurement(filename, threadCount);
+    }
+
+    // Devam eden bir follow çalıştırması
+    public class FollowSession {
+        private final List<WordCountTable> tables;
+        private final Future<?> producerFuture;
+        private final List<Future<?>> consumerFutures;
+        private WordCounts finalCounts;
+
+        private FollowSession(List<WordCountTable> tables, Future<?> producerFuture, List<Future<?>> consumerFutures) {
+            this.tables = tables;
+            this.producerFuture = producerFuture;
+            this.consumerFutures = consumerFutures;
+        }
+
+        /**
+         * O ana kadar sayılmış kelimelerin kopyası. Maliyeti okunan byte'larla değil, consumer
+         * sayısı × kelime dağarcığı ile orantılıdır; her consumer'ın tablosu tam chunk'ları yansıtır.
+         * stop() sonrasında final sonucu döner.
+         */
+        public synchronized WordCounts snapshot() {
+            if (finalCounts != null) {
+                return finalCounts;
+            }
+            WordCountTable snapshot = new WordCountTable();
+            for (WordCountTable table : tables) {
+                synchronized (table) {
+                    snapshot.addAll(table);
+                }
+            }
+            return snapshot;
+        }
+
+        public int getChunksProcessed() {
+            return successfulChunks.get();
+        }
+
+        // Dosyada kalanları okur, consumer'ları bitirir ve final sonucu döner
+        public synchronized WordCounts stop() throws FileProcessingException {
+            if (finalCounts != null) {
+                return finalCounts;
+            }
+            following = false;
+            try {
+                producerFuture.get();
+                for (Future<?> future : consumerFutures) {
+                    future.get();
+                }
+                finalCounts = processResults();
+                return finalCounts;
+
+            } catch (InterruptedException | ExecutionException e) {
+                throw new FileProcessingException("Error in producer-consumer processing", e);
+            } finally {
+                shutdownExecutors();
+                metrics.endMeasurement();
+                metrics.printReport();
+            }
+        }
+    }
 
     // ================================
     // PRODUCER THREAD
     // ================================
     private class Producer implements Runnable {
+        private static final int READ_BUFFER_SIZE = 64 * 1024;
+
         private final String filename;
+        private final boolean follow;        // true ise EOF'ta durmaz, dosya büyüdükçe okumaya devam eder
+
+        // Doldurulmakta olan chunk'ın byte'ları
+        private byte[] chunkBuffer = new byte[READ_BUFFER_SIZE];
+        private int chunkLength;
+        private int chunkLines;
+        private long chunkStart;
+        private long lastLineEnd;            // Okunan son tam satırın bittiği dosya pozisyonu
+        private int chunkId = 1;
+        private long putNanos;               // queue.put içinde bloklanarak geçen toplam süre
+
+        // Heap buffer: satır sonları dizi üzerinde ByteScanner ile aranır
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ByteScanner scanner = ByteScanner.best();
+        private long position;               // Okunan dosyada bir sonraki okumanın pozisyonu
+        private long totalLines;
 
         public Producer(String filename) {
+            this(filename, false);
+        }
+
+        public Producer(String filename, boolean follow) {
             this.filename = filename;
+            this.follow = follow;
         }
 
         @Override
         public void run() {
 
+            boolean interrupted = false;
 
             try {
+                if (follow) {
+                    followFile();
+                } else if (asyncQueueDepth > 0) {
+                    readAsync(Path.of(filename));
+                    flushTail();
+                } else {
+                    try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+                        readAvailable(channel);
+                        flushTail();
+                    }
+                }
+                System.out.println("Producer read " + totalLines + " lines");
+
+            } catch (IOException e) {
+                System.err.println("Producer error reading file: " + e.getMessage());
+            } catch (InterruptedException e) {
+                System.err.println("Producer interrupted: " + e.getMessage());
+                interrupted = true;
+            } finally {
+                // Bitişi bildir, hata olsa bile consumer'lar beklemede kalmasın
+                queue.complete();
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
 
-                List<String> allLines = Files.readAllLines(Path.of(filename));
-                System.out.println("Producer read " + allLines.size() + " lines");
+        // Kanalın mevcut sonuna kadar okur, chunk dolduğu anda queue'ya koyar
+        private void readAvailable(FileChannel channel) throws IOException, InterruptedException {
+            while (true) {
+                long readStart = System.nanoTime();
+                int read = channel.read(readBuffer);
+                metrics.recordRead(Math.max(read, 0), System.nanoTime() - readStart);
+                if (read <= 0) break;
 
-                // Chunk'lara böl ve queue'ya ekle
-                int chunkId = 1;
-                int totalChunks = (int) Math.ceil((double) allLines.size() / chunkSize);
+                scanBlock(readBuffer, readBuffer.position());
+                readBuffer.clear();
+            }
+        }
 
+        // Aynı anda asyncQueueDepth okuma uçuşta; bloklar dosya sırasıyla gelir, satırlar blok
+        // sınırlarında chunkBuffer'da birleşir
+        private void readAsync(Path path) throws IOException, InterruptedException {
+            try (AsyncFileReader reader = new AsyncFileReader(path, asyncQueueDepth, asyncReadSize)) {
+                ByteBuffer block;
+                while ((block = reader.next()) != null) {
+                    scanBlock(block, block.limit());
+                    reader.release(block);
+                }
+                // Okumalar örtüştüğü için süre, en az bir okumanın uçuşta olduğu duvar saati süresidir
+                metrics.recordRead(reader.getBytesRead(), reader.getBusyNanos());
+            }
+        }
 
-                for (int i = 0; i < allLines.size(); i += chunkSize) {
-                    // Chunk boundaries
-                    int endIndex = Math.min(i + chunkSize, allLines.size());
-                    List<String> chunkLines = allLines.subList(i, endIndex);
+        // buffer'ın [0, limit) aralığındaki satırları chunk'lara ekler; dolan chunk'ları queue'ya koyar
+        private void scanBlock(ByteBuffer buffer, int limit) throws InterruptedException {
+            long scanStart = System.nanoTime();
+            long putNanosBefore = putNanos;
+            int segmentStart = 0;
+
+            byte[] bytes = buffer.array();
+            for (int i = scanner.indexOf(bytes, 0, limit, (byte) '\n'); i >= 0;
+                     i = scanner.indexOf(bytes, i + 1, limit, (byte) '\n')) {
+                totalLines++;
+                long lineEnd = position + i + 1;
+                boolean full;
+                if (chunkBytes > 0) {
+                    // Bu satır chunk'ı bütçenin üstüne taşıyorsa chunk'ı önceki satırın sonunda kapat
+                    if (lineEnd - chunkStart > chunkBytes && lastLineEnd > chunkStart) {
+                        append(buffer, segmentStart, i + 1);
+                        segmentStart = i + 1;
+                        emit(lastLineEnd);
+                    }
+                    full = lineEnd - chunkStart >= chunkBytes;
+                } else {
+                    full = ++chunkLines == chunkSize;
+                }
+                lastLineEnd = lineEnd;
 
-                    // String olarak birleştir
-                    String chunkData = String.join("\n", chunkLines);
+                if (full) {
+                    append(buffer, segmentStart, i + 1);
+                    segmentStart = i + 1;
+                    emit(lineEnd);
+                }
+            }
+            append(buffer, segmentStart, limit);
+            position += limit;
 
-                    // FileChunk oluştur
-                    FileChunk<String> chunk = new FileChunk<>(
-                            chunkId++,
-                            chunkData,
-                            i,
-                            endIndex
-                    );
+            // Queue'da bekleme süresi hariç satır tarama + decode süresi
+            metrics.recordStage(Stage.CHUNK, System.nanoTime() - scanStart - (putNanos - putNanosBefore));
+        }
 
-                    // Queue'ya ekle (blocking operation)
-                    queue.put(chunk);
+        // Kalan byte'ları gönderir; son satır '\n' ile bitmiyorsa o da bir satır sayılır
+        private void flushTail() throws InterruptedException {
+            if (chunkLength > 0) {
+                totalLines += chunkBuffer[chunkLength - 1] == '\n' ? 0 : 1;
+                emit(position);
+            }
+        }
 
-                }
+        /**
+         * Follow modu: EOF'a gelince tamamlanmış satırları hemen gönderir, yarım satırı bekletir ve
+         * WatchService olayı ya da pollInterval kadar bekledikten sonra okumaya devam eder.
+         * Yol başka bir dosyayı gösterirse (rotation) eski dosya sonuna kadar okunup yenisine geçilir;
+         * dosya okunan pozisyondan kısalırsa (truncation) baştan okunur.
+         */
+        private void followFile() throws IOException, InterruptedException {
+            Path path = Path.of(filename).toAbsolutePath();
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            Object fileKey = fileKey(path);
+
+            try (WatchService watcher = path.getFileSystem().newWatchService()) {
+                path.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+                while (following) {
+                    readAvailable(channel);
+                    if (lastLineEnd > chunkStart) {
+                        emit(lastLineEnd);
+                    }
 
-                // Poison pills gönder (her consumer için bir tane)
-                for (int i = 0; i < consumerCount; i++) {
-                    queue.put(POISON_PILL);
+                    WatchKey key = watcher.poll(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+
+                    Object currentKey = fileKey(path);
+                    if (currentKey != null && !Objects.equals(currentKey, fileKey)) {
+                        // Rotation: eski dosyada kalanları bitir, yeni dosyayı baştan oku
+                        readAvailable(channel);
+                        flushTail();
+                        channel.close();
+                        channel = FileChannel.open(path, StandardOpenOption.READ);
+                        fileKey = currentKey;
+                        restartFile();
+                        System.out.println("Producer: " + filename + " rotated, reading new file from offset 0");
+                    } else if (channel.size() < position) {
+                        // Truncation: yarım kalan satır artık dosyada yok
+                        System.out.println("Producer: " + filename + " truncated at offset " + position + ", restarting");
+                        channel.position(0);
+                        chunkLength = 0;
+                        restartFile();
+                    }
                 }
 
+                readAvailable(channel);
+                flushTail();
+            } finally {
+                channel.close();
+            }
+        }
 
-            } catch (IOException e) {
-                System.err.println("Producer error reading file: " + e.getMessage());
-            } catch (InterruptedException e) {
-                System.err.println("Producer interrupted: " + e.getMessage());
-                Thread.currentThread().interrupt();
+        private void restartFile() {
+            position = 0;
+            chunkStart = 0;
+            lastLineEnd = 0;
+            chunkLines = 0;
+        }
+
+        // Dosyanın kimliği (Unix'te inode); dosya yoksa null
+        private Object fileKey(Path path) throws IOException {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+        }
+
+        private void append(ByteBuffer source, int from, int to) {
+            int length = to - from;
+            if (chunkLength + length > chunkBuffer.length) {
+                chunkBuffer = Arrays.copyOf(chunkBuffer, Math.max(chunkBuffer.length * 2, chunkLength + length));
+            }
+            source.get(from, chunkBuffer, chunkLength, length);
+            chunkLength += length;
+        }
+
+        // chunkBuffer'ın endPosition'a kadarki kısmını chunk olarak gönderir, kalan byte'lar bir sonraki chunk'a geçer
+        private void emit(long endPosition) throws InterruptedException {
+            int length = (int) (endPosition - chunkStart);
+            String chunkData = new String(chunkBuffer, 0, length, StandardCharsets.UTF_8);
+            FileChunk<String> chunk = new FileChunk<>(chunkId, chunkData, chunkStart, endPosition);
+
+            metrics.recordChunkSize(chunk.getSize());
+
+            // Queue'ya ekle (blocking operation); byte bütçesi doluysa önce yer açılmasını bekle
+            long putStart = System.nanoTime();
+            if (inFlightBudget != null) {
+                inFlightBudget.acquire(chunk.getSize());
+            }
+            queue.put(chunk);
+            long blocked = System.nanoTime() - putStart;
+            putNanos += blocked;
+            metrics.recordStage(Stage.QUEUE_PUT, blocked);
+            if (chunkId == 1) {
+                metrics.recordFirstChunk();
             }
+
+            chunkId++;
+            chunkStart = endPosition;
+            chunkLength -= length;
+            System.arraycopy(chunkBuffer, length, chunkBuffer, 0, chunkLength);
+            chunkLines = 0;
         }
     }
 
     // ================================
     // CONSUMER THREADS
     // ================================
-    private class Consumer implements Runnable {
-        private final int consumerId;
+    private Consumer newConsumer(int consumerId, Semaphore countingPermits) {
+        return analysisRun != null
+                ? analysisRun.newConsumer(consumerId, countingPermits)
+                : new WordConsumer(consumerId, countingPermits);
+    }
 
-        public Consumer(int consumerId) {
+    // Kanaldan chunk alma döngüsü; chunk'ların nasıl işleneceği alt sınıflara kalır
+    private abstract class Consumer implements Runnable {
+        protected final int consumerId;
+        private final Semaphore countingPermits;   // Sadece VIRTUAL modda, diğer durumda null
+
+        protected Consumer(int consumerId, Semaphore countingPermits) {
             this.consumerId = consumerId;
+            this.countingPermits = countingPermits;
         }
 
+        // Chunk'ı işler; dönen sonuç sadece istatistik içindir
+        protected abstract ProcessingResult<?> consume(FileChunk<String> chunk);
+
+        // Consumer çıkarken (hata ya da emeklilik dahil) bir kez çağrılır
+        protected abstract void finish(long processingTime);
+
         @Override
         public void run() {
+            long consumerProcessingTime = 0;
 
-
-            int processedChunks = 0;
+            List<FileChunk<String>> batch = new ArrayList<>(consumerBatchSize);
 
             try {
                 while (true) {
-                    // Queue'dan chunk al (blocking operation)
-                    FileChunk<String> chunk = queue.take();
-
-                    // Poison pill kontrolü
-                    if (chunk == POISON_PILL) {
+                    // Kanaldan chunk al (blocking operation)
+                    long waitStart = System.nanoTime();
+                    int taken = queue.takeBatch(batch, consumerBatchSize);
+                    metrics.recordStage(Stage.QUEUE_WAIT, System.nanoTime() - waitStart);
 
+                    // Producer bitti ve kanal boş
+                    if (taken < 0) {
                         break;
                     }
 
+                    for (FileChunk<String> chunk : batch) {
+                        ProcessingResult<?> result;
+                        try {
+                            result = count(chunk);
+                        } finally {
+                            if (inFlightBudget != null) {
+                                inFlightBudget.release(chunk.getSize());
+                            }
+                        }
+                        recordStatistics(result);
+                        consumerProcessingTime += result.getProcessingTimeNanos();
+                    }
+                    batch.clear();
 
-                    ProcessingResult<Integer> result = processor.processChunk(chunk);
-
-                    // Sonucu thread-safe list'e ekle
-                    results.add(result);
-                    processedChunks++;
-
+                    if (tryRetire()) {
+                        System.out.println("Consumer-" + consumerId + " retired");
+                        break;
+                    }
                 }
 
             } catch (InterruptedException e) {
                 System.err.println("Consumer-" + consumerId + " interrupted: " + e.getMessage());
                 Thread.currentThread().interrupt();
+            } finally {
+                finish(consumerProcessingTime);
             }
 
 
         }
+
+        // Bekleyen bir emeklilik isteği varsa onu bu consumer üstlenir
+        private boolean tryRetire() {
+            int pending;
+            while ((pending = pendingRetirements.get()) > 0) {
+                if (pendingRetirements.compareAndSet(pending, pending - 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private ProcessingResult<?> count(FileChunk<String> chunk) throws InterruptedException {
+            if (countingPermits != null) {
+                countingPermits.acquire();
+            }
+            try {
+                return consume(chunk);
+            } finally {
+                if (countingPermits != null) {
+                    countingPermits.release();
+                }
+            }
+        }
+
+        private void recordStatistics(ProcessingResult<?> result) {
+            if (result.isSuccessful()) {
+                successfulChunks.incrementAndGet();
+                totalProcessingTime.add(result.getProcessingTimeNanos());
+                metrics.recordChunk(result.getProcessingTimeNanos());
+            } else {
+                failedChunks.incrementAndGet();
+                System.err.println("Failed chunk " + result.getChunkId() +
+                        ": " + result.getErrorMessage());
+            }
+        }
+    }
+
+    private class WordConsumer extends Consumer {
+        // Local accumulation modunda bu consumer'ın tüm chunk'ları tek tabloya sayılır
+        // Follow modunda tablo canlıdır ve snapshot için kayıt edilir
+        private final WordCountTable accumulator;
+
+        WordConsumer(int consumerId, Semaphore countingPermits) {
+            super(consumerId, countingPermits);
+            this.accumulator = localAccumulation || liveTables != null ? new WordCountTable() : null;
+            if (liveTables != null) {
+                liveTables.add(accumulator);
+            }
+        }
+
+        @Override
+        protected ProcessingResult<?> consume(FileChunk<String> chunk) {
+            if (accumulator == null) {
+                // Sonucu thread-safe list'e ekle
+                ProcessingResult<WordCounts> result = processor.processChunk(chunk);
+                if (result.isSuccessful()) {
+                    results.add(result);
+                }
+                return result;
+            }
+            // Canlı tablo snapshot ile aynı anda okunabilir
+            synchronized (accumulator) {
+                return processor.processChunk(chunk, accumulator);
+            }
+        }
+
+        @Override
+        protected void finish(long processingTime) {
+            // Consumer başına tek kısmi sonuç yayınla
+            if (accumulator != null) {
+                results.add(new ProcessingResult<>(consumerId, accumulator, processingTime));
+            }
+        }
     }
 
     // ================================
-    // RESULT PROCESSING
+    // CHUNK ANALYSIS
     // ================================
-    private void processResults() {
-        System.out.println("\n--- Processing Results ---");
+    // Bir processFile(filename, analysis) çalıştırması: consumer başına bir sonuç, bitişte birleştirilir
+    private class AnalysisRun<R> {
+        private final ChunkProcessor<R> analysis;
+        private final List<R> partials = Collections.synchronizedList(new ArrayList<>());
 
-        // Sonuçları chunk ID'ye göre sırala
-        results.sort(Comparator.comparingInt(ProcessingResult::getChunkId));
+        AnalysisRun(ChunkProcessor<R> analysis) {
+            this.analysis = analysis;
+        }
 
-        // İstatistikler
-        int successfulChunks = 0;
-        int failedChunks = 0;
-        long totalProcessingTime = 0;
-        Map<String, Integer> mergedWordCount = new HashMap<>();
+        Consumer newConsumer(int consumerId, Semaphore countingPermits) {
+            return new AnalysisConsumer(consumerId, countingPermits);
+        }
 
-        for (ProcessingResult<Integer> result : results) {
-            if (result.isSuccessful()) {
-                successfulChunks++;
-                totalProcessingTime += result.getProcessingTime();
+        R merge() {
+            R merged = analysis.newResult();
+            for (R partial : partials) {
+                analysis.merge(merged, partial);
+            }
+            return merged;
+        }
+
+        private class AnalysisConsumer extends Consumer {
+            private final R accumulator = analysis.newResult();
+
+            AnalysisConsumer(int consumerId, Semaphore countingPermits) {
+                super(consumerId, countingPermits);
+            }
+
+            @Override
+            protected ProcessingResult<?> consume(FileChunk<String> chunk) {
+                return analysis.processChunk(chunk, accumulator);
+            }
+
+            @Override
+            protected void finish(long processingTime) {
+                partials.add(accumulator);
+            }
+        }
+    }
 
-                // Kelime sayılarını merge et
-                for (Map.Entry<String, Integer> entry : result.getResults().entrySet()) {
-                    mergedWordCount.merge(entry.getKey(), entry.getValue(), Integer::sum);
+    // ================================
+    // ADAPTIVE SCALING
+    // ================================
+    private class ConsumerScaler {
+        private final List<Future<?>> consumerFutures;
+        private final Semaphore countingPermits;
+        private final long[] nanosAtCount = new long[maxConsumers + 1];   // her consumer sayısında geçen süre
+
+        private int activeConsumers;
+        private int fullStreak;
+        private int drainedStreak;
+
+        ConsumerScaler(List<Future<?>> consumerFutures, Semaphore countingPermits) {
+            this.consumerFutures = consumerFutures;
+            this.countingPermits = countingPermits;
+            this.activeConsumers = consumerFutures.size();
+        }
+
+        // Producer bitene kadar örnekler ve consumer ekler/emekliye ayırır
+        void run(Future<?> producerFuture) throws InterruptedException, ExecutionException {
+            long startTime = System.nanoTime();
+            long sampleTime = startTime;
+            long busyBefore = totalProcessingTime.sum();
+
+            while (true) {
+                try {
+                    producerFuture.get(SCALE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    // Producer hâlâ çalışıyor, örnekle
+                }
+
+                long now = System.nanoTime();
+                long busy = totalProcessingTime.sum();
+                double occupancy = Math.min(1.0, (double) queue.size() / queue.capacity());
+                double utilization = (double) (busy - busyBefore) / ((now - sampleTime) * activeConsumers);
+                nanosAtCount[activeConsumers] += now - sampleTime;
+                sampleTime = now;
+                busyBefore = busy;
+
+                fullStreak = occupancy >= SCALE_UP_OCCUPANCY && utilization >= SCALE_UP_UTILIZATION
+                        ? fullStreak + 1 : 0;
+                drainedStreak = occupancy <= SCALE_DOWN_OCCUPANCY && utilization < SCALE_DOWN_UTILIZATION
+                        ? drainedStreak + 1 : 0;
+
+                if (fullStreak >= SCALE_STREAK && activeConsumers < maxConsumers) {
+                    activeConsumers++;
+                    consumerFutures.add(consumerExecutor.submit(newConsumer(consumerFutures.size() + 1, countingPermits)));
+                    logDecision(now - startTime, occupancy, utilization, "add");
+                    fullStreak = 0;
+                } else if (drainedStreak >= SCALE_STREAK && activeConsumers > minConsumers) {
+                    activeConsumers--;
+                    pendingRetirements.incrementAndGet();
+                    logDecision(now - startTime, occupancy, utilization, "retire");
+                    drainedStreak = 0;
                 }
-            } else {
-                failedChunks++;
-                System.err.println("Failed chunk " + result.getChunkId() +
-                        ": " + result.getErrorMessage());
             }
+            nanosAtCount[activeConsumers] += System.nanoTime() - sampleTime;
+            printSummary();
+        }
+
+        private void logDecision(long elapsedNanos, double occupancy, double utilization, String action) {
+            System.out.printf("[Adaptive] %d ms: queue %d%%, utilization %d%% -> %s consumer (now %d)%n",
+                    elapsedNanos / 1_000_000, Math.round(occupancy * 100), Math.round(utilization * 100),
+                    action, activeConsumers);
         }
 
+        private void printSummary() {
+            long total = 0;
+            int steadyState = activeConsumers;
+            for (int count = 0; count < nanosAtCount.length; count++) {
+                total += nanosAtCount[count];
+                if (nanosAtCount[count] > nanosAtCount[steadyState]) {
+                    steadyState = count;
+                }
+            }
+            System.out.printf("[Adaptive] Final consumers: %d (min %d, max %d, started %d), steady state: %d (%.0f%% of the time)%n",
+                    activeConsumers, minConsumers, maxConsumers, consumerFutures.size(), steadyState,
+                    total == 0 ? 100.0 : nanosAtCount[steadyState] * 100.0 / total);
+        }
+    }
+
+    // ================================
+    // RESULT PROCESSING
+    // ================================
+    private WordCounts processResults() throws InterruptedException, ExecutionException {
+        System.out.println("\n--- Processing Results ---");
+
+        // Sonuçları chunk ID'ye (local accumulation modunda consumer ID'ye) göre sırala
+        results.sort(Comparator.comparingInt(ProcessingResult::getChunkId));
+
+        // Kelime sayılarını consumer havuzunda paralel olarak merge et
+        long mergeStart = System.nanoTime();
+        WordCounts mergedWordCount = new ResultMerger(consumerExecutor).merge(results);
+        metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
+
         // Rapor yazdır
-        System.out.println("Total chunks processed: " + results.size());
-        System.out.println("Successful chunks: " + successfulChunks);
-        System.out.println("Failed chunks: " + failedChunks);
-        System.out.println("Total processing time: " + totalProcessingTime + "ms");
-        System.out.println("Average processing time per chunk: " +
-                (totalProcessingTime / Math.max(successfulChunks, 1)) + "ms");
+        System.out.println("Total chunks processed: " + (successfulChunks.get() + failedChunks.get()));
+        System.out.println("Successful chunks: " + successfulChunks.get());
+        System.out.println("Failed chunks: " + failedChunks.get());
+        System.out.println("Partial results merged: " + results.size());
+        if (inFlightBudget != null) {
+            System.out.printf("Peak in-flight bytes: %d (budget %d)%n",
+                    inFlightBudget.getPeak(), inFlightBudget.getLimit());
+        }
+        System.out.printf("Total processing time: %.3fms%n", totalProcessingTime.sum() / 1e6);
+        System.out.printf("Average processing time per chunk: %.3fms%n",
+                totalProcessingTime.sum() / 1e6 / Math.max(successfulChunks.get(), 1));
 
         // Top 10 words
         System.out.println("\n--- Top 10 Words ---");
-        mergedWordCount.entrySet()
-                .stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(10)
+        mergedWordCount.top(10)
                 .forEach(entry ->
                         System.out.println(entry.getKey() + ": " + entry.getValue()));
 
         System.out.println("Total unique words: " + mergedWordCount.size());
+        return mergedWordCount;
     }
 
     // ================================
@@ -286,7 +956,8 @@ public class ProducerConsumerProcessor {
     // ================================
 
     // Getters
-    public List<ProcessingResult<Integer>> getResults() {
+    // Son processFile'ın kısmi sonuçları (chunk ya da local accumulation'da consumer başına); merge bunları değiştirmez
+    public List<ProcessingResult<WordCounts>> getResults() {
         return new ArrayList<>(results);
     }
 
@@ -0,0 +1,100 @@
+package service;
+
+import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Chunk sonuçlarını ikili ağaç şeklinde (pairwise tree reduction) birleştirir.
+ * Her turda sonuçlar çiftler halinde havuzda paralel olarak birleştirilir, böylece
+ * N sonuç log2(N) turda tek tabloya iner. Executor verilmezse aynı ağaç tek thread'de kurulur.
+ * Girdi tabloları değiştirilmez: ilk turda her çift yeni bir tabloya birleştirilir, sonraki turlar
+ * bu ara tablolar üzerinde yerinde çalışır. Böylece birleştirmeden sonra chunk sonuçları
+ * (ör. ProducerConsumerProcessor.getResults()) hâlâ kendi sayımlarını tutar.
+ */
+public class ResultMerger {
+
+    private final ExecutorService executor;
+
+    public ResultMerger() {
+        this(null);
+    }
+
+    public ResultMerger(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public WordCounts merge(List<ProcessingResult<WordCounts>> results)
+            throws InterruptedException, ExecutionException {
+
+        List<WordCounts> level = new ArrayList<>();
+        for (ProcessingResult<WordCounts> result : results) {
+            if (result.isSuccessful()) {
+                level.add(result.getResults());
+            }
+        }
+        return reduce(level);
+    }
+
+    public WordCounts reduce(List<WordCounts> partials) throws InterruptedException, ExecutionException {
+        if (partials.isEmpty()) {
+            return new WordCountTable();
+        }
+        if (partials.size() == 1) {
+            return copyOf(partials.get(0));
+        }
+
+        List<WordCounts> level = new ArrayList<>(partials);
+        boolean firstLevel = true;
+        while (level.size() > 1) {
+            List<Callable<WordCounts>> pairs = new ArrayList<>();
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                WordCounts left = level.get(i);
+                WordCounts right = level.get(i + 1);
+                boolean copyLeft = firstLevel;
+                pairs.add(() -> {
+                    WordCounts target = copyLeft ? copyOf(left) : left;
+                    target.addAll(right);
+                    return target;
+                });
+            }
+
+            List<WordCounts> next = new ArrayList<>(level.size() / 2 + 1);
+            if (executor == null || pairs.size() == 1) {
+                for (Callable<WordCounts> pair : pairs) {
+                    try {
+                        next.add(pair.call());
+                    } catch (Exception e) {
+                        throw new ExecutionException(e);
+                    }
+                }
+            } else {
+                for (Future<WordCounts> future : executor.invokeAll(pairs)) {
+                    next.add(future.get());
+                }
+            }
+
+            // Tek sayıda sonuç varsa sonuncusu bir sonraki tura geçer; ilk turda girdi olduğu için kopyalanır
+            if (level.size() % 2 == 1) {
+                WordCounts last = level.get(level.size() - 1);
+                next.add(firstLevel ? copyOf(last) : last);
+            }
+            level = next;
+            firstLevel = false;
+        }
+        return level.get(0);
+    }
+
+    private static WordCounts copyOf(WordCounts counts) {
+        WordCounts copy = counts.emptyCopy();
+        copy.addAll(counts);
+        return copy;
+    }
+}
@@ -1,13 +1,16 @@
 package service;
 
+import exception.FileProcessingException;
 import model.FileChunk;
 import model.ProcessingResult;
+import model.WordCounts;
 import util.PerformanceMetrics;
+import util.PerformanceMetrics.Stage;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 
 public class SingleThreadedProcessor {
     private final FileChunker chunker;
@@ -15,49 +18,83 @@ public class SingleThreadedProcessor {
     private final PerformanceMetrics metrics;
 
     public SingleThreadedProcessor() {
-        this.chunker = new FileChunker(1000); // 1000 lines per chunk
+        this(new FileChunker(1000)); // 1000 lines per chunk
+    }
+
+    public SingleThreadedProcessor(FileChunker chunker) {
+        this.chunker = chunker;
         this.processor = new WordProcessor();
         this.metrics = new PerformanceMetrics();
     }
 
-    public void processFile(String filename) {
+    // Birleştirilmiş kelime sayılarını döner, hata olursa null
+    public WordCounts processFile(String filename) {
         try {
             metrics.startMeasurement(filename, 1); // 1 thread
 
-            // Dosyayı chunk'lara böl
-            List<FileChunk<String>> chunks = chunker.createChunks(filename);
-            System.out.println("Toplam chunk sayısı: " + chunks.size());
+            // Dosyayı chunk'lara böl ve her chunk'ı sırayla işle
+            // Okuma (READ) ve bölme/decode (CHUNK) süreleri chunk iterator'ının içinde kaydedilir
+            Iterator<FileChunk<String>> chunks = chunker.iterateChunks(filename, metrics);
+
+            List<ProcessingResult<WordCounts>> results = new ArrayList<>();
+            while (chunks.hasNext()) {
+                FileChunk<String> chunk = chunks.next();
+                if (chunker.getMode() == FileChunker.Mode.MAPPED) {
+                    metrics.recordChunkSize(chunk.getSize());   // LINES modunda pozisyonlar satır numarasıdır
+                }
 
-            // Her chunk'ı sırayla işle
-            List<ProcessingResult<Integer>> results = new ArrayList<>();
-            for (FileChunk chunk : chunks) {
-                ProcessingResult<Integer> result = processor.processChunk(chunk);
+                ProcessingResult<WordCounts> result = processor.processChunk(chunk);
+                metrics.recordChunk(result.getProcessingTimeNanos());
                 results.add(result);
             }
+            System.out.println("Toplam chunk sayısı: " + results.size());
 
             //Sonuçları birleştir
-            Map<String, Integer> finalResult = mergeResults(results);
+            long mergeStart = System.nanoTime();
+            WordCounts finalResult = new ResultMerger().merge(results);
+            metrics.recordStage(Stage.MERGE, System.nanoTime() - mergeStart);
             System.out.println("Toplam farklı kelime sayısı: " + finalResult.size());
 
             // Metrics bitir ve rapor yazdır
             metrics.endMeasurement();
             metrics.printReport();
+            return finalResult;
 
         } catch (Exception e) {
             e.printStackTrace();
+            return null;
         }
     }
 
-    private Map<String, Integer> mergeResults(List<ProcessingResult<Integer>> results) {
-        Map<String, Integer> merged = new HashMap<>();
+    /**
+     * Dosyayı verilen analizle işler: tüm chunk'lar sırayla tek bir sonuca eklenir, merge gerekmez.
+     * Birden fazla analiz için {@link FusedChunkProcessor} verilebilir.
+     */
+    public <R> R processFile(String filename, ChunkProcessor<R> analysis) throws FileProcessingException {
+        try {
+            metrics.startMeasurement(filename, 1);
+
+            Iterator<FileChunk<String>> chunks = chunker.iterateChunks(filename, metrics);
+
+            R result = analysis.newResult();
+            int chunkCount = 0;
+            while (chunks.hasNext()) {
+                FileChunk<String> chunk = chunks.next();
+                if (chunker.getMode() == FileChunker.Mode.MAPPED) {
+                    metrics.recordChunkSize(chunk.getSize());
+                }
 
-        for (ProcessingResult<Integer> result : results) {
-            Map<String, Integer> map = result.getResults();
-            for (Map.Entry<String, Integer> entry : map.entrySet()) {
-                merged.merge(entry.getKey(), entry.getValue(), Integer::sum);
+                metrics.recordChunk(analysis.processChunk(chunk, result).getProcessingTimeNanos());
+                chunkCount++;
             }
-        }
+            System.out.println("Toplam chunk sayısı: " + chunkCount);
 
-        return merged;
+            metrics.endMeasurement();
+            metrics.printReport();
+            return result;
+
+        } catch (IOException e) {
+            throw new FileProcessingException("Error in chunk analysis of " + filename, e);
+        }
     }
 }
\ No newline at end of file
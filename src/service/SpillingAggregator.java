@@ -0,0 +1,148 @@
+package service;
+
+import model.WordCountTable;
+import model.WordCounts;
+import util.WordIndexMerger;
+import util.WordIndexWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bellek sınırlı birleştirme. Kısmi sayımlar tek bir tabloda toplanır; tablonun tahmini boyutu
+ * bütçeyi aşınca tablo sıralanıp geçici dizine bir run (index dosyası) olarak yazılır ve boşaltılır.
+ * {@link #finish(Path)} kalan tabloyu da yazar ve run'ları k-way merge ile tek bir index'te birleştirir;
+ * sayımlar kesin, top-K index'in top bölümünden okunur.
+ * <p>
+ * Heap kullanımı farklı kelime sayısından bağımsızdır: en fazla bütçe kadar tablo, run yazılırken
+ * bir o kadar da sıralama kopyası tutulur. Thread-safe değildir.
+ */
+public class SpillingAggregator implements AutoCloseable {
+
+    // Tablo slotları (~0.6 doluluk), String nesnesi ve byte[] başlığı için kelime başı tahmini
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    // Aynı anda açılan run sayısı; daha fazlası ara birleştirme turlarıyla azaltılır
+    private static final int MAX_MERGE_FAN_IN = 64;
+    // Bütçeye göre baştan boyutlanan tablonun üst sınırı (çok büyük bütçelerde büyüme ile devam eder)
+    private static final int MAX_PRESIZED_ENTRIES = 1 << 20;
+
+    private final long memoryBudgetBytes;
+    private final Path spillDirectory;
+    private final List<Path> runs = new ArrayList<>();
+
+    private WordCountTable buffer;
+    private long bufferedBytes;
+    private long spilledEntries;
+    private int mergePasses;
+
+    public SpillingAggregator(long memoryBudgetBytes, Path tempParent) throws IOException {
+        if (memoryBudgetBytes <= 0) throw new IllegalArgumentException("Memory budget must be > 0");
+
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.buffer = newBuffer();
+        Files.createDirectories(tempParent);
+        this.spillDirectory = Files.createTempDirectory(tempParent, "wordcount-spill");
+    }
+
+    public void add(WordCounts partial) throws IOException {
+        try {
+            partial.forEach((word, count) -> {
+                int before = buffer.size();
+                buffer.add(word, count);
+                if (buffer.size() > before) {
+                    bufferedBytes += ENTRY_OVERHEAD_BYTES + 2L * word.length();
+                    if (bufferedBytes > memoryBudgetBytes) {
+                        spillUnchecked();
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Tüm sayımları output'a index olarak yazar. Sonuç {@link util.WordIndexReader} ile okunur.
+     * Sonrasında aggregator kullanılmamalıdır.
+     */
+    public void finish(Path output) throws IOException {
+        if (buffer.size() > 0 || runs.isEmpty()) {
+            spill();
+        }
+        buffer = null;
+
+        // Çok sayıda run varsa önce gruplar halinde birleştir
+        List<Path> level = new ArrayList<>(runs);
+        while (level.size() > 1) {
+            if (level.size() <= MAX_MERGE_FAN_IN) {
+                WordIndexMerger.merge(level, output);
+                deleteAll(level);
+                return;
+            }
+            List<Path> next = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += MAX_MERGE_FAN_IN) {
+                List<Path> group = level.subList(i, Math.min(i + MAX_MERGE_FAN_IN, level.size()));
+                Path merged = newRunFile();
+                WordIndexMerger.merge(group, merged);
+                deleteAll(group);
+                next.add(merged);
+            }
+            level = next;
+            mergePasses++;
+        }
+        Files.move(level.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public int getRunCount() { return runs.size(); }
+    public long getSpilledEntries() { return spilledEntries; }
+    public int getMergePasses() { return mergePasses; }
+
+    @Override
+    public void close() throws IOException {
+        try (var files = Files.list(spillDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(spillDirectory);
+    }
+
+    private void spill() throws IOException {
+        Path run = newRunFile();
+        WordIndexWriter.write(buffer, run);
+        runs.add(run);
+        spilledEntries += buffer.size();
+
+        buffer = newBuffer();
+        bufferedBytes = 0;
+    }
+
+    // Kısmi tablolar slot sırasıyla eklenir; küçük başlayıp büyüyen tabloda bu sıra linear probing
+    // kümeleri oluşturur, bu yüzden tablo bütçenin alabileceği kelime sayısına göre boyutlanır
+    private WordCountTable newBuffer() {
+        return new WordCountTable((int) Math.min(memoryBudgetBytes / ENTRY_OVERHEAD_BYTES, MAX_PRESIZED_ENTRIES));
+    }
+
+    private void spillUnchecked() {
+        try {
+            spill();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path newRunFile() throws IOException {
+        return Files.createTempFile(spillDirectory, "run-", ".wix");
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
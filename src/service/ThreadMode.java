@@ -0,0 +1,26 @@
+package service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * İşlemcilerin görevleri hangi tür thread'lerde çalıştıracağı.
+ * VIRTUAL modda her görev kendi virtual thread'inde çalışır; I/O'da bloklanan görevler
+ * platform thread'i tutmaz. CPU'ya bağlı sayım ise ayrıca bir Semaphore ile sınırlandırılır.
+ */
+public enum ThreadMode {
+    PLATFORM,
+    VIRTUAL;
+
+    ExecutorService newExecutor(int poolSize) {
+        return this == VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(poolSize);
+    }
+
+    ExecutorService newSingleExecutor() {
+        return this == VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newSingleThreadExecutor();
+    }
+}
@@ -0,0 +1,285 @@
+package service;
+
+import exception.ChunkProcessingException;
+import model.FileChunk;
+import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
+import util.ByteScanner;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Kelime sayımı için hazır {@link Pipeline} yapılandırmaları. Mevcut işlemcilerin thread yapıları
+ * birer yapılandırma olarak ifade edilir:
+ * <ul>
+ *   <li>{@link #singleThreaded}: SingleThreadedProcessor — chunk'lar tek worker'da, tek tabloya sayılır</li>
+ *   <li>{@link #multiThreaded}: MultiThreadedProcessor — FileChunker chunk'ları N worker'da, chunk başına sonuç</li>
+ *   <li>{@link #producerConsumer}: ProducerConsumerProcessor — tek okuyucu, tek satır bölücü, N consumer
+ *       (isteğe bağlı consumer-local accumulation)</li>
+ *   <li>{@link #staged}: okuma, bölme, tokenize, sayım ve merge ayrı aşamalarda, her birinin kendi havuzuyla</li>
+ * </ul>
+ * ForkJoinProcessor'ın sayımı multiThreaded ile aynıdır; sadece chunk'ları özyinelemeli böler.
+ */
+public final class WordCountPipelines {
+
+    private static final int READ_SIZE = 256 * 1024;
+
+    private WordCountPipelines() {
+    }
+
+    public static Pipeline<WordCounts> singleThreaded(String filename) {
+        return Pipeline.source("chunk", chunks(filename, new FileChunker(1000)))
+                .stage("count", 1, 16, () -> new ChunkCounter(true))
+                .merge("merge", 16, WordCountTable::new, WordCounts::addAll);
+    }
+
+    public static Pipeline<WordCounts> multiThreaded(String filename, int threads, FileChunker chunker) {
+        return Pipeline.source("chunk", chunks(filename, chunker))
+                .stage("count", threads, threads * 2, () -> new ChunkCounter(false))
+                .merge("merge", threads * 4, WordCountTable::new, WordCounts::addAll);
+    }
+
+    public static Pipeline<WordCounts> producerConsumer(String filename, int queueSize, int consumers,
+                                                        int linesPerChunk, boolean localAccumulation) {
+        if (linesPerChunk <= 0) throw new IllegalArgumentException("Lines per chunk must be > 0");
+        return Pipeline.source("read", read(filename))
+                .stage("split", 1, 4, () -> new LineSplitter(linesPerChunk, 0))
+                .stage("count", consumers, queueSize, () -> new ChunkCounter(localAccumulation))
+                .merge("merge", queueSize, WordCountTable::new, WordCounts::addAll);
+    }
+
+    /**
+     * Beş aşamalı hat: read → split (chunkBytes'lık satır grupları) → tokenize → count → merge.
+     * Tokenize ve count ayrı havuzlarda çalışır; count worker'ları kendi tablolarına biriktirir.
+     */
+    public static Pipeline<WordCounts> staged(String filename, int chunkBytes, int tokenizers, int counters,
+                                              int queueCapacity) {
+        if (chunkBytes <= 0) throw new IllegalArgumentException("Chunk bytes must be > 0");
+        return Pipeline.source("read", read(filename))
+                .stage("split", 1, queueCapacity, () -> new LineSplitter(0, chunkBytes))
+                .stage("tokenize", tokenizers, queueCapacity, Tokenizer::new)
+                .stage("count", counters, queueCapacity, TokenCounter::new)
+                .merge("merge", queueCapacity, WordCountTable::new, WordCounts::addAll);
+    }
+
+    // ================================
+    // STAGES
+    // ================================
+    private static Pipeline.Source<FileChunk<String>> chunks(String filename, FileChunker chunker) {
+        return out -> {
+            Iterator<FileChunk<String>> chunks = chunker.iterateChunks(filename);
+            while (chunks.hasNext()) {
+                out.emit(chunks.next());
+            }
+        };
+    }
+
+    // Dosyayı en fazla READ_SIZE'lık bloklar halinde sırayla okur; her blok yeni bir buffer'dır (kuyrukta bekler)
+    private static Pipeline.Source<ByteBuffer> read(String filename) {
+        return out -> {
+            try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+                ByteBuffer block = ByteBuffer.allocate(READ_SIZE);
+                while (channel.read(block) > 0) {
+                    out.emit(block.flip());
+                    block = ByteBuffer.allocate(READ_SIZE);
+                }
+            }
+        };
+    }
+
+    /**
+     * Blokları satır sınırında chunk'lara böler; blok sonunda yarım kalan satır sonraki blokla birleşir.
+     * Chunk, linesPerChunk satıra ya da (chunkBytes > 0 ise) hedef byte boyutuna ulaşınca kapanır.
+     * Chunk pozisyonları byte offset'idir. Sıralı çalışmalıdır (tek worker).
+     */
+    private static final class LineSplitter implements Pipeline.Worker<ByteBuffer, FileChunk<String>> {
+        private final int linesPerChunk;
+        private final int chunkBytes;
+        private final ByteScanner scanner = ByteScanner.best();
+
+        // Açık chunk pending[chunkOffset, length) aralığındadır
+        private byte[] pending = new byte[2 * READ_SIZE];
+        private int chunkOffset;
+        private int length;
+        private int lastLineEnd;       // Açık chunk'taki son tam satırın sonu (pending içinde)
+        private int chunkLines;
+        private long chunkStart;       // Açık chunk'ın dosyadaki başlangıcı
+        private int chunkId = 1;
+
+        LineSplitter(int linesPerChunk, int chunkBytes) {
+            this.linesPerChunk = linesPerChunk;
+            this.chunkBytes = chunkBytes;
+        }
+
+        @Override
+        public void process(ByteBuffer block, Pipeline.Emitter<FileChunk<String>> out) throws InterruptedException {
+            int scanFrom = append(block);
+            for (int i = scanner.indexOf(pending, scanFrom, length, (byte) '\n'); i >= 0;
+                     i = scanner.indexOf(pending, i + 1, length, (byte) '\n')) {
+                int lineEnd = i + 1;
+                boolean full;
+                if (chunkBytes > 0) {
+                    // Bu satır chunk'ı hedefin üstüne taşıyorsa chunk'ı önceki satırın sonunda kapat
+                    if (lineEnd - chunkOffset > chunkBytes && lastLineEnd > chunkOffset) {
+                        emit(lastLineEnd, out);
+                    }
+                    full = lineEnd - chunkOffset >= chunkBytes;
+                } else {
+                    full = ++chunkLines == linesPerChunk;
+                }
+                lastLineEnd = lineEnd;
+                if (full) {
+                    emit(lineEnd, out);
+                }
+            }
+        }
+
+        @Override
+        public void finish(Pipeline.Emitter<FileChunk<String>> out) throws InterruptedException {
+            if (length > chunkOffset) {
+                emit(length, out);
+            }
+        }
+
+        // Bloğu açık chunk'ın arkasına ekler ve yeni byte'ların başladığı indeksi döner
+        private int append(ByteBuffer block) {
+            // Önceki bloklardan kalan açık chunk'ı başa taşı
+            if (chunkOffset > 0) {
+                System.arraycopy(pending, chunkOffset, pending, 0, length - chunkOffset);
+                length -= chunkOffset;
+                lastLineEnd = Math.max(lastLineEnd - chunkOffset, 0);
+                chunkOffset = 0;
+            }
+            int size = block.remaining();
+            if (length + size > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, length + size));
+            }
+            block.get(pending, length, size);
+            length += size;
+            return length - size;
+        }
+
+        private void emit(int end, Pipeline.Emitter<FileChunk<String>> out) throws InterruptedException {
+            int size = end - chunkOffset;
+            String data = new String(pending, chunkOffset, size, StandardCharsets.UTF_8);
+            FileChunk<String> chunk = new FileChunk<>(chunkId++, data, chunkStart, chunkStart + size);
+            chunkStart += size;
+            chunkOffset = end;
+            chunkLines = 0;
+            out.emit(chunk);
+        }
+    }
+
+    // Chunk'ı tokenize edip sayar; local ise tüm chunk'lar worker'ın tek tablosuna eklenir ve sonda yayınlanır
+    private static final class ChunkCounter implements Pipeline.Worker<FileChunk<String>, WordCounts> {
+        private final WordProcessor processor = new WordProcessor();
+        private final WordCountTable accumulator;
+
+        ChunkCounter(boolean local) {
+            this.accumulator = local ? new WordCountTable() : null;
+        }
+
+        @Override
+        public void process(FileChunk<String> chunk, Pipeline.Emitter<WordCounts> out)
+                throws InterruptedException, ChunkProcessingException {
+            if (accumulator != null) {
+                checkSuccessful(processor.processChunk(chunk, accumulator));
+            } else {
+                out.emit(checkSuccessful(processor.processChunk(chunk)).getResults());
+            }
+        }
+
+        @Override
+        public void finish(Pipeline.Emitter<WordCounts> out) throws InterruptedException {
+            if (accumulator != null && accumulator.size() > 0) {
+                out.emit(accumulator);
+            }
+        }
+
+        // Hatalı chunk'ta sonuç null'dır; stage'i chunk'ın hata mesajıyla düşür
+        private static ProcessingResult<WordCounts> checkSuccessful(ProcessingResult<WordCounts> result)
+                throws ChunkProcessingException {
+            if (!result.isSuccessful()) {
+                throw new ChunkProcessingException(
+                        "Chunk " + result.getChunkId() + " failed: " + result.getErrorMessage(), null);
+            }
+            return result;
+        }
+    }
+
+    private static final class Tokenizer implements Pipeline.Worker<FileChunk<String>, TokenBatch> {
+        private final WordTokenizer tokenizer = new WordTokenizer();
+
+        @Override
+        public void process(FileChunk<String> chunk, Pipeline.Emitter<TokenBatch> out) throws InterruptedException {
+            TokenBatch batch = new TokenBatch(chunk.getData().length());
+            tokenizer.tokenize(chunk.getData(), batch::add);
+            out.emit(batch);
+        }
+    }
+
+    private static final class TokenCounter implements Pipeline.Worker<TokenBatch, WordCounts> {
+        private final WordCountTable accumulator = new WordCountTable();
+
+        @Override
+        public void process(TokenBatch batch, Pipeline.Emitter<WordCounts> out) {
+            batch.forEach(accumulator::increment);
+        }
+
+        @Override
+        public void finish(Pipeline.Emitter<WordCounts> out) throws InterruptedException {
+            if (accumulator.size() > 0) {
+                out.emit(accumulator);
+            }
+        }
+    }
+
+    /**
+     * Bir chunk'ın küçük harfe çevrilmiş kelimeleri, kelime başına String oluşturmadan tek bir char
+     * dizisinde arka arkaya tutulur.
+     */
+    static final class TokenBatch {
+        private char[] chars;
+        private int[] ends = new int[64];
+        private int count;
+        private int length;
+
+        TokenBatch(int expectedChars) {
+            chars = new char[Math.max(expectedChars, 16)];
+        }
+
+        void add(char[] buffer, int tokenLength) {
+            if (length + tokenLength > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + tokenLength));
+            }
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            System.arraycopy(buffer, 0, chars, length, tokenLength);
+            length += tokenLength;
+            ends[count++] = length;
+        }
+
+        // Her kelime sink'e 0'dan başlayan bir buffer'da verilir
+        void forEach(WordTokenizer.TokenSink sink) {
+            char[] token = new char[32];
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                int tokenLength = ends[i] - start;
+                if (tokenLength > token.length) {
+                    token = new char[Math.max(token.length * 2, tokenLength)];
+                }
+                System.arraycopy(chars, start, token, 0, tokenLength);
+                sink.accept(token, tokenLength);
+                start = ends[i];
+            }
+        }
+    }
+}
@@ -1,24 +1,44 @@
 package service;
 
+import model.ApproximateCounts;
 import model.FileChunk;
+import model.IdCounts;
 import model.ProcessingResult;
+import model.WordCountTable;
+import model.WordCounts;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.ByteBuffer;
 
 public class WordProcessor {
 
-    public ProcessingResult<Integer> processChunk(FileChunk<String> chunk) {
-        long startTime = System.currentTimeMillis();
+    private final WordTokenizer tokenizer = new WordTokenizer();
+
+    public ProcessingResult<WordCounts> processChunk(FileChunk<String> chunk) {
+        return processChunk(chunk, new WordCountTable());
+    }
+
+    // Sayımları verilen tabloya ekler; birden çok chunk için aynı tablo (ör. consumer başına bir tane) kullanılabilir
+    public ProcessingResult<WordCounts> processChunk(FileChunk<String> chunk, WordCountTable target) {
+        return processChunk(chunk, target, target::increment);
+    }
+
+    // Paylaşılan sözlükle sayım: chunk kelime String'i tutmaz, sayılar id dizisindedir
+    public ProcessingResult<WordCounts> processChunk(FileChunk<String> chunk, IdCounts target) {
+        return processChunk(chunk, target, target::increment);
+    }
+
+    private ProcessingResult<WordCounts> processChunk(FileChunk<String> chunk, WordCounts target,
+                                                      WordTokenizer.TokenSink sink) {
+        long startTime = System.nanoTime();
 
         try {
 
             String data = chunk.getData();
 
             // Chunk'taki kelimeleri say
-            Map<String, Integer> wordCount = countWords(data);
+            WordCounts wordCount = countWords(data, target, sink);
 
-            long endTime = System.currentTimeMillis();
+            long endTime = System.nanoTime();
 
             return new ProcessingResult<>(
                     chunk.getChunkId(),
@@ -27,7 +47,7 @@ public class WordProcessor {
             );
 
         } catch (Exception e) {
-            long endTime = System.currentTimeMillis();
+            long endTime = System.nanoTime();
             System.err.println("Error processing chunk " + chunk.getChunkId() + ": " + e.getMessage());
             return new ProcessingResult<>(
                     chunk.getChunkId(),
@@ -37,8 +57,80 @@ public class WordProcessor {
         }
     }
 
-    private Map<String, Integer> countWords(String data) {
-        Map<String, Integer> wordCount = new HashMap<>();
+    public ProcessingResult<WordCounts> processByteChunk(FileChunk<ByteBuffer> chunk) {
+        return processByteChunk(chunk, new WordCountTable());
+    }
+
+    /**
+     * UTF-8 byte'ları doğrudan sayar: chunk hiçbir zaman String'e çevrilmez, sadece tabloya
+     * ilk kez eklenen kelimeler için String oluşturulur.
+     */
+    public ProcessingResult<WordCounts> processByteChunk(FileChunk<ByteBuffer> chunk, WordCountTable target) {
+        return processByteChunk(chunk, target, target::increment);
+    }
+
+    public ProcessingResult<WordCounts> processByteChunk(FileChunk<ByteBuffer> chunk, IdCounts target) {
+        return processByteChunk(chunk, target, target::increment);
+    }
+
+    private ProcessingResult<WordCounts> processByteChunk(FileChunk<ByteBuffer> chunk, WordCounts target,
+                                                          WordTokenizer.TokenSink sink) {
+        long startTime = System.nanoTime();
+
+        try {
+            ByteBuffer data = chunk.getData();
+
+            if (data == null || !data.hasRemaining()) {
+                System.out.println("WARNING: Empty or null data received");
+            } else {
+                tokenizer.tokenize(data, sink);
+            }
+
+            return new ProcessingResult<>(chunk.getChunkId(), target, System.nanoTime() - startTime);
+
+        } catch (Exception e) {
+            long endTime = System.nanoTime();
+            System.err.println("Error processing chunk " + chunk.getChunkId() + ": " + e.getMessage());
+            return new ProcessingResult<>(
+                    chunk.getChunkId(),
+                    endTime - startTime,
+                    e.getMessage()
+            );
+        }
+    }
+
+    // Yaklaşık mod: kelimeler tabloya değil sabit boyutlu özetlere eklenir
+    public ProcessingResult<ApproximateCounts> processChunk(FileChunk<String> chunk, ApproximateCounts target) {
+        return summarize(chunk, target, () -> tokenizer.tokenize(chunk.getData(), target::add));
+    }
+
+    public ProcessingResult<ApproximateCounts> processByteChunk(FileChunk<ByteBuffer> chunk, ApproximateCounts target) {
+        return summarize(chunk, target, () -> tokenizer.tokenize(chunk.getData(), target::add));
+    }
+
+    private ProcessingResult<ApproximateCounts> summarize(FileChunk<?> chunk, ApproximateCounts target, Runnable scan) {
+        long startTime = System.nanoTime();
+
+        try {
+            if (chunk.getData() == null) {
+                System.out.println("WARNING: Empty or null data received");
+            } else {
+                scan.run();
+            }
+            return new ProcessingResult<>(chunk.getChunkId(), target, System.nanoTime() - startTime);
+
+        } catch (Exception e) {
+            long endTime = System.nanoTime();
+            System.err.println("Error processing chunk " + chunk.getChunkId() + ": " + e.getMessage());
+            return new ProcessingResult<>(
+                    chunk.getChunkId(),
+                    endTime - startTime,
+                    e.getMessage()
+            );
+        }
+    }
+
+    private WordCounts countWords(String data, WordCounts wordCount, WordTokenizer.TokenSink sink) {
 
         // Null veya boş kontrolü
         if (data == null || data.isBlank()) {
@@ -48,20 +140,8 @@ public class WordProcessor {
 
 
 
-        // Noktalama işaretlerini temizleyip kelimelere ayır
-        String[] words = data
-                .replaceAll("[^a-zA-Z0-9ğüşöçıİĞÜŞÖÇ\\s]", " ")  // DÜZELTME: \\s eklendi
-                .toLowerCase()
-                .split("\\s+");
-
-
-        int validWords = 0;
-        for (String word : words) {
-            if (!word.isEmpty()) {
-                wordCount.put(word, wordCount.getOrDefault(word, 0) + 1);
-                validWords++;
-            }
-        }
+        // Tek geçişte kelimelere ayır, küçük harfe çevir ve say
+        tokenizer.tokenize(data, sink);
 
 
         return wordCount;
@@ -0,0 +1,260 @@
+package service;
+
+import util.ByteScanner;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Metni tek geçişte kelimelere ayıran regex'siz tarayıcı.
+ * <p>
+ * Eski {@code replaceAll("[^a-zA-Z0-9ğüşöçıİĞÜŞÖÇ\\s]", " ").toLowerCase().split("\\s+")}
+ * zinciriyle birebir aynı kelimeleri üretir: harf/rakam olmayan her karakter ayraçtır,
+ * küçük harfe çevirme ise karakter karakter, ara string oluşturmadan yapılır.
+ * <p>
+ * Byte taramasında {@link ByteScanner} vektörelse 64 byte'lık bloklar tek seferde sınıflandırılır:
+ * ASCII kelime parçaları maskeden bulunup topluca eklenir, sadece ASCII olmayan byte'lar
+ * byte byte taranır. Üretilen kelimeler skaler taramayla aynıdır.
+ */
+public class WordTokenizer {
+
+    private static final int SCAN_BLOCK_SIZE = 16 * 1024;
+    // 64 byte'lık blokta bundan fazla ASCII olmayan byte varsa blok skaler taranır
+    private static final int MAX_VECTOR_NON_ASCII = 4;
+
+    // Her kelime için çağrılır; buffer bir sonraki kelimede tekrar kullanılır
+    public interface TokenSink {
+        void accept(char[] buffer, int length);
+    }
+
+    private final boolean turkicLocale;
+    private final ByteScanner scanner;
+
+    public WordTokenizer() {
+        this(Locale.getDefault());
+    }
+
+    public WordTokenizer(Locale locale) {
+        this(locale, ByteScanner.best());
+    }
+
+    public WordTokenizer(Locale locale, ByteScanner scanner) {
+        // String.toLowerCase() tr/az locale'inde 'I' -> 'ı' ve 'İ' -> 'i' yapar
+        String language = locale.getLanguage();
+        this.turkicLocale = language.equals("tr") || language.equals("az");
+        this.scanner = scanner;
+    }
+
+    public int tokenize(CharSequence data, TokenSink sink) {
+        return tokenize(data, 0, data.length(), sink);
+    }
+
+    // Sadece data[from, to) aralığını tarar; aralık sınırları ayraç sayılır
+    public int tokenize(CharSequence data, int from, int to, TokenSink sink) {
+        TokenBuffer token = new TokenBuffer(sink);
+
+        for (int i = from; i < to; i++) {
+            char c = data.charAt(i);
+
+            // ASCII hızlı yol
+            char lower = c < 0x80 ? foldAscii(c) : foldTurkish(c);
+            token.accept(c, lower);
+        }
+        return token.finish();
+    }
+
+    /**
+     * UTF-8 byte'ları String'e çevirmeden tarar (buffer'ın position..limit aralığı, buffer değişmez).
+     * Kelime karakterleri ASCII harf/rakamlar ve 2 byte'lık Türkçe harflerdir; diğer tüm byte
+     * dizileri ayraçtır, bu yüzden decode edilmiş metin üzerindeki tokenize ile aynı kelimeleri üretir.
+     */
+    public int tokenize(ByteBuffer data, TokenSink sink) {
+        TokenBuffer token = new TokenBuffer(sink);
+
+        if (data.hasArray()) {
+            int offset = data.arrayOffset();
+            scanBlock(data.array(), offset + data.position(), offset + data.limit(), true, token);
+            return token.finish();
+        }
+
+        // Direct/mmap buffer: byte byte get() yerine bloklar halinde yerel diziye kopyalayıp tara
+        byte[] block = new byte[SCAN_BLOCK_SIZE];
+        int position = data.position();
+        int limit = data.limit();
+        while (position < limit) {
+            int length = Math.min(block.length, limit - position);
+            data.get(position, block, 0, length);
+            position += scanBlock(block, 0, length, position + length == limit, token);
+        }
+        return token.finish();
+    }
+
+    private int scanBlock(byte[] bytes, int from, int to, boolean lastBlock, TokenBuffer token) {
+        return scanner.isVectorized()
+                ? scanVectorized(bytes, from, to, lastBlock, token)
+                : scan(bytes, from, to, lastBlock, token);
+    }
+
+    // scan ile aynı sözleşme. Her tam 64 byte'lık blok için kelime ve ASCII olmayan byte maskeleri alınır;
+    // ASCII olmayan her byte'ta (2 byte'lık dizi bloğun dışına taşsa bile) skaler scan'e geçilir.
+    // Blok sonrası en az bir byte kalacak şekilde ilerlenir, böylece 2 byte'lık dizi hep aralıktadır.
+    private int scanVectorized(byte[] bytes, int from, int to, boolean lastBlock, TokenBuffer token) {
+        int i = from;
+        while (i + ByteScanner.BLOCK < to) {
+            long word = scanner.wordMask(bytes, i);
+            long nonAscii = scanner.nonAsciiMask(bytes, i);
+            if (Long.bitCount(nonAscii) > MAX_VECTOR_NON_ASCII) {
+                // Yoğun UTF-8 (ör. Türkçe metin): her byte'ta maske ile skaler arasında geçmek byte byte taramadan pahalı
+                i += scan(bytes, i, i + ByteScanner.BLOCK, false, token);
+                continue;
+            }
+
+            int p = 0;
+            while (nonAscii != 0) {
+                int h = Long.numberOfTrailingZeros(nonAscii);
+                emitAscii(bytes, i, word, p, h, token);
+                p = h + scan(bytes, i + h, i + h + 2, false, token);
+                nonAscii &= p >= ByteScanner.BLOCK ? 0 : -1L << p;
+            }
+            emitAscii(bytes, i, word, p, ByteScanner.BLOCK, token);
+            i += Math.max(p, ByteScanner.BLOCK);
+        }
+        return i - from + scan(bytes, i, to, lastBlock, token);
+    }
+
+    // bytes[base + p, base + limit) sadece ASCII; word maskesindeki ardışık bitler kelime parçalarıdır
+    private void emitAscii(byte[] bytes, int base, long word, int p, int limit, TokenBuffer token) {
+        while (p < limit) {
+            long rest = word & (-1L << p);
+            int start = rest == 0 ? limit : Math.min(Long.numberOfTrailingZeros(rest), limit);
+            if (start > p) {
+                token.endWord();
+                if (start == limit) return;
+            }
+            long gaps = ~word & (-1L << start);
+            int end = gaps == 0 ? limit : Math.min(Long.numberOfTrailingZeros(gaps), limit);
+            token.appendAscii(bytes, base + start, end - start);
+            p = end;
+        }
+    }
+
+    // [from, to) aralığını tarar ve tüketilen byte sayısını döner; son blok değilse blok sonunda
+    // yarım kalan 2 byte'lık dizi bir sonraki bloğa bırakılır
+    private int scan(byte[] bytes, int from, int to, boolean lastBlock, TokenBuffer token) {
+        int i = from;
+        while (i < to) {
+            byte b = bytes[i];
+
+            if (b >= 0) {
+                char c = (char) b;
+                token.accept(c, foldAscii(c));
+                i++;
+                continue;
+            }
+
+            // Türkçe harfler 0xC3-0xC5 ile başlayan 2 byte'lık dizilerdir: 110xxxxx 10xxxxxx
+            int lead = b & 0xFF;
+            if (lead >= 0xC3 && lead <= 0xC5) {
+                if (i + 1 == to && !lastBlock) {
+                    break;
+                }
+                if (i + 1 < to && (bytes[i + 1] & 0xC0) == 0x80) {
+                    char c = (char) (((lead & 0x1F) << 6) | (bytes[i + 1] & 0x3F));
+                    token.accept(c, foldTurkish(c));
+                    i += 2;
+                    continue;
+                }
+            }
+            token.accept((char) 0, (char) 0);
+            i++;
+        }
+        return i - from;
+    }
+
+    private char foldAscii(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return (c == 'I' && turkicLocale) ? 'ı' : (char) (c + ('a' - 'A'));
+        }
+        return 0;
+    }
+
+    // Regex'teki Türkçe harfler; kelime karakteri değilse 0 döner
+    private char foldTurkish(char c) {
+        switch (c) {
+            case 'ğ': case 'ü': case 'ş': case 'ö': case 'ç': case 'ı':
+                return c;
+            case 'Ğ': return 'ğ';
+            case 'Ü': return 'ü';
+            case 'Ş': return 'ş';
+            case 'Ö': return 'ö';
+            case 'Ç': return 'ç';
+            case 'İ': return 'i';
+            default: return 0;
+        }
+    }
+
+    // Küçük harfe çevrilmiş karakterleri biriktirir, ayraç gelince kelimeyi sink'e verir
+    private class TokenBuffer {
+        private final TokenSink sink;
+        private char[] token = new char[32];
+        private int length;
+        private int tokenCount;
+
+        TokenBuffer(TokenSink sink) {
+            this.sink = sink;
+        }
+
+        // original: kaynaktaki karakter, lower: küçük harfi ya da ayraçsa 0
+        void accept(char original, char lower) {
+            if (lower == 0) {
+                if (length > 0) {
+                    sink.accept(token, length);
+                    tokenCount++;
+                    length = 0;
+                }
+                return;
+            }
+
+            if (length + 2 > token.length) {
+                token = Arrays.copyOf(token, token.length * 2);
+            }
+            token[length++] = lower;
+            if (original == 'İ' && !turkicLocale) {
+                // Locale'den bağımsız toLowerCase: 'İ' -> "i\u0307"
+                token[length++] = '\u0307';
+            }
+        }
+
+        // ASCII harf/rakam dizisi, tek kapasite kontrolüyle. Harf ve rakamlarda 0x20 biti küçük harf
+        // demektir (rakamlarda zaten set); tr/az'da sadece 'I' -> 'ı' ayrıca düzeltilir
+        void appendAscii(byte[] bytes, int from, int count) {
+            if (length + count > token.length) {
+                token = Arrays.copyOf(token, Math.max(token.length * 2, length + count));
+            }
+            char[] chars = token;
+            int at = length;
+            for (int i = from, end = from + count; i < end; i++) {
+                chars[at++] = (char) (bytes[i] | 0x20);
+            }
+            if (turkicLocale) {
+                for (int i = length; i < at; i++) {
+                    if (chars[i] == 'i' && bytes[from + i - length] == 'I') chars[i] = 'ı';
+                }
+            }
+            length = at;
+        }
+
+        void endWord() {
+            accept((char) 0, (char) 0);
+        }
+
+        int finish() {
+            endWord();
+            return tokenCount;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Dosyayı aynı anda queueDepth okuma uçuşta olacak şekilde okur ve blokları dosya sırasıyla verir.
+ * NVMe gibi cihazlar ancak birden fazla bekleyen istekle tam hıza çıkar; tek thread'in sıralı read()
+ * çağrıları bunu sağlayamaz.
+ * <p>
+ * queueDepth adet readSize'lık heap buffer bir kez ayrılır ve tekrar kullanılır: {@link #next()} sıradaki
+ * bloğu (position 0, limit okunan byte) okuması bitene kadar bekleyerek döner, {@link #release(ByteBuffer)}
+ * buffer'ı geri verir ve onunla bir sonraki okunmamış bloğu ister. Böylece tüketici yavaşsa okumalar
+ * da durur ve bellek queueDepth × readSize ile sınırlı kalır. Blok sınırları satır sınırı değildir,
+ * satırları birleştirmek çağırana kalır. Tek tüketici thread'i içindir.
+ */
+public class AsyncFileReader implements AutoCloseable {
+
+    private final AsynchronousFileChannel channel;
+    private final ExecutorService ioExecutor;
+    private final long fileSize;
+    private final int readSize;
+    private final Slot[] slots;
+    private final long blockCount;
+
+    private long nextBlock;          // next() ile verilecek blok
+    private long submittedBlocks;    // okuması başlatılmış blok sayısı
+
+    // En az bir okumanın uçuşta olduğu sürelerin toplamı; okuma throughput'u bununla hesaplanır
+    private int outstanding;
+    private long busySince;
+    private long busyNanos;
+    private long bytesRead;
+
+    public AsyncFileReader(Path path, int queueDepth, int readSize) throws IOException {
+        if (queueDepth <= 0) throw new IllegalArgumentException("Queue depth must be > 0");
+        if (readSize <= 0) throw new IllegalArgumentException("Read size must be > 0");
+
+        // Okumalar kendi havuzunda: her thread bir pread bekler, uçuştaki okuma sayısı queueDepth'tir
+        this.ioExecutor = Executors.newFixedThreadPool(queueDepth);
+        try {
+            this.channel = AsynchronousFileChannel.open(path, Set.of(StandardOpenOption.READ), ioExecutor);
+        } catch (IOException | RuntimeException e) {
+            ioExecutor.shutdownNow();
+            throw e;
+        }
+        this.fileSize = channel.size();
+        this.readSize = readSize;
+        this.blockCount = (fileSize + readSize - 1) / readSize;
+
+        this.slots = new Slot[queueDepth];
+        for (int i = 0; i < queueDepth; i++) {
+            slots[i] = new Slot(ByteBuffer.allocate(readSize));
+        }
+        while (submittedBlocks < Math.min(queueDepth, blockCount)) {
+            submit(slots[(int) submittedBlocks]);
+        }
+    }
+
+    /**
+     * Sıradaki blok; dosya bittiyse null. Dönen buffer {@link #release(ByteBuffer)} ile geri verilmeden
+     * bir sonraki blok istenmemelidir.
+     */
+    public ByteBuffer next() throws IOException, InterruptedException {
+        if (nextBlock == blockCount) {
+            return null;
+        }
+        Slot slot = slots[(int) (nextBlock % slots.length)];
+        try {
+            ByteBuffer buffer = slot.done.get();
+            nextBlock++;
+            return buffer;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Read failed at byte " + slot.start, cause);
+        }
+    }
+
+    public void release(ByteBuffer buffer) {
+        Slot slot = slots[(int) ((nextBlock - 1) % slots.length)];
+        if (slot.buffer != buffer) throw new IllegalArgumentException("Buffer is not the last block returned");
+        if (submittedBlocks < blockCount) {
+            submit(slot);
+        }
+    }
+
+    public long getFileSize() { return fileSize; }
+
+    public synchronized long getBytesRead() { return bytesRead; }
+
+    public synchronized long getBusyNanos() { return busyNanos; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            ioExecutor.shutdownNow();
+        }
+    }
+
+    private void submit(Slot slot) {
+        slot.start = submittedBlocks * readSize;
+        slot.buffer.clear().limit((int) Math.min(readSize, fileSize - slot.start));
+        slot.done = new CompletableFuture<>();
+        submittedBlocks++;
+
+        readStarted();
+        channel.read(slot.buffer, slot.start, slot, handler);
+    }
+
+    private synchronized void readStarted() {
+        if (outstanding++ == 0) {
+            busySince = System.nanoTime();
+        }
+    }
+
+    private synchronized void readFinished(int bytes) {
+        bytesRead += bytes;
+        if (--outstanding == 0) {
+            busyNanos += System.nanoTime() - busySince;
+        }
+    }
+
+    // Tamamlanan okuma; kısa okumada bloğun kalanı için yeniden okuma başlatır
+    private final CompletionHandler<Integer, Slot> handler = new CompletionHandler<>() {
+        @Override
+        public void completed(Integer read, Slot slot) {
+            readFinished(Math.max(read, 0));
+            ByteBuffer buffer = slot.buffer;
+            if (read >= 0 && buffer.hasRemaining()) {
+                // Kısa okuma: bloğun kalanını iste
+                readStarted();
+                channel.read(buffer, slot.start + buffer.position(), slot, this);
+                return;
+            }
+            // read < 0: dosya açıldıktan sonra kısalmış, okunabilen kadarı verilir
+            slot.done.complete(buffer.flip());
+        }
+
+        @Override
+        public void failed(Throwable e, Slot slot) {
+            readFinished(0);
+            slot.done.completeExceptionally(e);
+        }
+    };
+
+    private static final class Slot {
+        final ByteBuffer buffer;
+        long start;                                  // Bloğun dosyadaki başlangıcı
+        volatile CompletableFuture<ByteBuffer> done;
+
+        Slot(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
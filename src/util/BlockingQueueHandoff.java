@@ -0,0 +1,98 @@
+package util;
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tek kilit ve iki Condition ile korunan sabit boyutlu dizi (ArrayBlockingQueue'nun klasik yaklaşımı).
+ * Kanal en fazla capacity eleman tutar. complete() bloklamaz ve kuyrukta yer kaplamaz: bayrağı
+ * set edip bekleyen tüm consumer'ları notEmpty üzerinden uyandırır.
+ */
+public class BlockingQueueHandoff<T> implements ChunkHandoff<T> {
+
+    private final Object[] items;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private int head;           // Sıradaki alınacak elemanın indeksi
+    private int count;
+    private boolean completed;
+
+    public BlockingQueueHandoff(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be > 0");
+        this.items = new Object[capacity];
+    }
+
+    @Override
+    public void put(T item) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == items.length) {
+                notFull.await();
+            }
+            items[(head + count) % items.length] = item;
+            count++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void complete() {
+        lock.lock();
+        try {
+            completed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int takeBatch(List<T> batch, int max) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (completed) return -1;
+                notEmpty.await();
+            }
+
+            int taken = Math.min(count, max);
+            for (int i = 0; i < taken; i++) {
+                batch.add((T) items[head]);
+                items[head] = null;
+                head = (head + 1) % items.length;
+            }
+            count -= taken;
+
+            // Açılan her slot için bir producer uyanır (Pipeline'da bir kuyruğa birden çok worker yazar);
+            // eleman kaldıysa bekleyen bir consumer daha devam eder
+            for (int i = 0; i < taken; i++) {
+                notFull.signal();
+            }
+            if (count > 0) notEmpty.signal();
+            return taken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return items.length;
+    }
+}
@@ -0,0 +1,71 @@
+package util;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aynı anda bellekte tutulan chunk byte'larını sınırlar (chunk sayısından bağımsız).
+ * Producer her chunk için acquire() çağırır ve bütçe dolarsa bekler; consumer chunk'ı
+ * işledikten sonra release() ile byte'ları geri verir.
+ * <p>
+ * Bütçeden büyük tek bir chunk, uçuşta başka chunk yoksa yine kabul edilir; aksi halde
+ * çok uzun bir satır producer'ı sonsuza kadar bekletirdi.
+ */
+public class ByteBudget {
+
+    private final long limit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private long inFlight;
+    private long peak;
+
+    public ByteBudget(long limit) {
+        if (limit <= 0) throw new IllegalArgumentException("Byte budget must be > 0");
+        this.limit = limit;
+    }
+
+    public void acquire(long bytes) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight > 0 && inFlight + bytes > limit) {
+                released.await();
+            }
+            inFlight += bytes;
+            peak = Math.max(peak, inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long bytes) {
+        lock.lock();
+        try {
+            inFlight -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLimit() { return limit; }
+
+    public long getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ölçüm boyunca görülen en yüksek uçuştaki byte miktarı
+    public long getPeak() {
+        lock.lock();
+        try {
+            return peak;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package util;
+
+/**
+ * Byte dizilerinde toplu arama ve sınıflandırma. Satır sonu arama (chunk sınırları) ve tokenizer'ın
+ * kelime/ayraç ayrımı bunun üzerinden yapılır.
+ * <p>
+ * Vektörel gerçekleme (jdk.incubator.vector) ayrı kaynak kökündedir ({@code src-vector}) ve çalışma
+ * anında yansıma ile yüklenir: sınıf derlenmemişse ya da JVM {@code --add-modules jdk.incubator.vector}
+ * ile başlatılmamışsa {@link ScalarByteScanner} kullanılır. İki gerçekleme de aynı sonuçları verir.
+ */
+public interface ByteScanner {
+
+    // Mask metotlarının bir seferde sınıflandırdığı byte sayısı
+    int BLOCK = 64;
+
+    // [from, to) içinde value'nun ilk indeksi; yoksa -1
+    int indexOf(byte[] bytes, int from, int to, byte value);
+
+    // [from, to) içinde value'nun son indeksi; yoksa -1
+    int lastIndexOf(byte[] bytes, int from, int to, byte value);
+
+    // bytes[offset .. offset + BLOCK) için bit i: ASCII harf ya da rakam
+    long wordMask(byte[] bytes, int offset);
+
+    // bytes[offset .. offset + BLOCK) için bit i: ASCII olmayan byte (>= 0x80)
+    long nonAsciiMask(byte[] bytes, int offset);
+
+    boolean isVectorized();
+
+    static ByteScanner best() {
+        ByteScanner vector = vectorized();
+        return vector != null ? vector : scalar();
+    }
+
+    static ByteScanner scalar() {
+        return ScalarByteScanner.INSTANCE;
+    }
+
+    // Vektörel gerçekleme; kullanılamıyorsa null
+    static ByteScanner vectorized() {
+        return Holder.VECTOR;
+    }
+
+    final class Holder {
+        private static final String VECTOR_CLASS = "util.VectorByteScanner";
+        private static final ByteScanner VECTOR = loadVector();
+
+        private Holder() {
+        }
+
+        private static ByteScanner loadVector() {
+            try {
+                return (ByteScanner) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // Sınıf yok, modül eklenmemiş ya da donanım uygun değil
+                return null;
+            }
+        }
+    }
+}
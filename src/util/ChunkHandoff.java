@@ -0,0 +1,28 @@
+package util;
+
+import java.util.List;
+
+/**
+ * Producer'dan consumer'lara chunk aktaran kanal. Tek producer, çok consumer.
+ * Bitiş poison pill yerine complete() ile bildirilir: kalan elemanlar tüketildikten sonra
+ * her consumer'ın takeBatch çağrısı -1 döner.
+ */
+public interface ChunkHandoff<T> {
+
+    // Yer açılana kadar bekler
+    void put(T item) throws InterruptedException;
+
+    // Artık eleman gelmeyecek; bloklamaz
+    void complete();
+
+    /**
+     * En az bir eleman gelene kadar bekler ve en fazla max elemanı batch'e ekler.
+     * Eklenen eleman sayısını, kanal tamamlanmış ve boşsa -1 döner.
+     */
+    int takeBatch(List<T> batch, int max) throws InterruptedException;
+
+    // Kanalda bekleyen eleman sayısı (yaklaşık)
+    int size();
+
+    int capacity();
+}
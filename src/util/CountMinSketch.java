@@ -0,0 +1,69 @@
+package util;
+
+/**
+ * Count-Min Sketch: depth satır x width sayaç. Bir elemanın tahmini, satırlardaki sayaçlarının
+ * minimumudur; gerçek sayıdan asla küçük değildir ve 1 - delta olasılıkla en fazla
+ * epsilon * toplam kadar büyüktür (width = ceil(e / epsilon), depth = ceil(ln(1 / delta))).
+ * Aynı boyutlu iki sketch sayaç bazında toplanarak birleştirilir. Thread-safe değildir.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counters;      // depth satır, satır satır ardışık
+    private long totalCount;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0) throw new IllegalArgumentException("Width must be > 0");
+        if (depth <= 0) throw new IllegalArgumentException("Depth must be > 0");
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[width * depth];
+    }
+
+    public static CountMinSketch withError(double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1) throw new IllegalArgumentException("Epsilon must be in (0, 1)");
+        if (delta <= 0 || delta >= 1) throw new IllegalArgumentException("Delta must be in (0, 1)");
+        return new CountMinSketch((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    public void add(long hash, long count) {
+        // Kirsch-Mitzenmacher: satır i için h1 + i * h2, tek bir 64 bit hash'ten depth tane indeks
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + Math.floorMod(h1 + row * h2, width)] += count;
+        }
+        totalCount += count;
+    }
+
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return min;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge Count-Min sketches with different dimensions");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long getTotalCount() { return totalCount; }
+    public int getWidth() { return width; }
+    public int getDepth() { return depth; }
+    public long getMemoryBytes() { return 8L * counters.length; }
+
+    // Tahminin gerçek sayıyı (1 - delta olasılıkla) aşabileceği en büyük miktar
+    public long getErrorBound() {
+        return (long) Math.ceil(Math.E / width * totalCount);
+    }
+}
@@ -0,0 +1,82 @@
+package util;
+
+/**
+ * Farklı eleman sayısı tahmini (HyperLogLog). 2^precision adet register tutulur, göreli standart
+ * hata yaklaşık 1.04 / sqrt(2^precision)'dır. Aynı precision'lı iki sketch register bazında max
+ * alınarak birleştirilir, sonuç iki girdinin birleşimini saymakla aynıdır.
+ * Girdi olarak iyi karıştırılmış 64 bit hash'ler beklenir. Thread-safe değildir.
+ */
+public class HyperLogLog {
+
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    // Göreli standart hatası en fazla relativeError olan en küçük sketch
+    public static HyperLogLog withError(double relativeError) {
+        if (relativeError <= 0 || relativeError >= 1) throw new IllegalArgumentException("Relative error must be in (0, 1)");
+        double registersNeeded = Math.pow(1.04 / relativeError, 2);
+        int precision = (int) Math.ceil(Math.log(registersNeeded) / Math.log(2));
+        return new HyperLogLog(Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision)));
+    }
+
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // Kalan bitlerde ilk 1'in konumu; sentinel bit rank'ı 64 - precision + 1 ile sınırlar
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) zeros++;
+        }
+        double estimate = alpha(m) * m * m / sum;
+
+        // Küçük kardinalitede linear counting daha isabetli; 64 bit hash'te büyük aralık düzeltmesi gerekmez
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public int getPrecision() { return precision; }
+    public double getRelativeError() { return 1.04 / Math.sqrt(registers.length); }
+    public long getMemoryBytes() { return registers.length; }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16: return 0.673;
+            case 32: return 0.697;
+            case 64: return 0.709;
+            default: return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
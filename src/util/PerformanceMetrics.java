@@ -1,53 +1,173 @@
 package util;
 
 import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PerformanceMetrics {
 
-    private long startTime;
+    // İşlem aşamaları; süreler tüm thread'ler üzerinden toplanır
+    public enum Stage {
+        READ("read"),
+        CHUNK("chunk"),
+        COUNT("tokenize/count"),
+        QUEUE_WAIT("queue wait (consumers)"),
+        QUEUE_PUT("queue wait (producer)"),
+        MERGE("merge");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private boolean started;
+    private boolean ended;
+    private long startTime;                 // nanoTime
     private long endTime;
+    private volatile long firstChunkTime;
     private long memoryBefore;
     private long memoryAfter;
+    private long gcCountBefore;
+    private long gcCountAfter;
+    private long gcTimeBefore;
+    private long gcTimeAfter;
+    private long allocatedBefore;
+    private long allocatedAfter;
     private int threadCount;
     private String fileName;
+    private long inputBytes;                // >= 0 ise dosya boyutu yerine kullanılır (ör. çok dosyalı işler)
+
+    private final Map<Stage, LongAdder> stageTimes = new EnumMap<>(Stage.class);
+    private final LongAdder bytesRead = new LongAdder();     // recordRead ile bildirilen byte'lar
+    private final Histogram chunkLatency = new Histogram();
+    private final Histogram chunkSizes = new Histogram();      // byte
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+    public PerformanceMetrics() {
+        for (Stage stage : Stage.values()) {
+            stageTimes.put(stage, new LongAdder());
+        }
+    }
 
     public void startMeasurement(String fileName, int threadCount) {
         this.fileName = fileName;
         this.threadCount = threadCount;
-        // zaman ve bellek kaydı
-        this.startTime = System.currentTimeMillis();
+        this.ended = false;
+        this.firstChunkTime = 0;
+        this.inputBytes = -1;
+        for (LongAdder time : stageTimes.values()) {
+            time.reset();
+        }
+        bytesRead.reset();
+        chunkLatency.reset();
+        chunkSizes.reset();
+
+        // zaman, bellek, GC ve allocation kaydı
         this.memoryBefore = getUsedMemory();
+        this.gcCountBefore = getGcCount();
+        this.gcTimeBefore = getGcTime();
+        this.allocatedBefore = threadBean.getTotalThreadAllocatedBytes();
+        this.startTime = System.nanoTime();
+        this.started = true;
+    }
+
+    // Girdi tek bir dosya değilse throughput için toplam byte sayısı
+    public void setInputBytes(long inputBytes) {
+        this.inputBytes = inputBytes;
+    }
+
+    // Bir aşamada geçen süreyi ekler; farklı thread'lerden aynı anda çağrılabilir
+    public void recordStage(Stage stage, long nanos) {
+        stageTimes.get(stage).add(nanos);
+    }
+
+    /**
+     * Okuma aşaması: süre READ'e eklenir, byte'larla birlikte raporda işleme throughput'undan ayrı bir
+     * okuma throughput'u verilir. Örtüşen okumalarda süre, okumaların uçuşta olduğu duvar saati süresidir.
+     */
+    public void recordRead(long bytes, long nanos) {
+        bytesRead.add(bytes);
+        recordStage(Stage.READ, nanos);
+    }
+
+    // Tek bir chunk'ın sayım süresi: hem gecikme histogramına hem COUNT aşamasına eklenir
+    public void recordChunk(long processingNanos) {
+        chunkLatency.record(processingNanos);
+        recordStage(Stage.COUNT, processingNanos);
+    }
+
+    // Üretilen bir chunk'ın byte cinsinden boyutu (sadece byte aralığı bilinen chunk'lar için)
+    public void recordChunkSize(long bytes) {
+        chunkSizes.record(bytes);
+    }
+
+    // İlk chunk işlenmeye hazır olduğunda çağrılır (sadece ilk çağrı kaydedilir)
+    public void recordFirstChunk() {
+        if (firstChunkTime == 0) {
+            firstChunkTime = System.nanoTime();
+        }
     }
 
     public void endMeasurement() {
         // bitiş zamanı ve final bellek
-        this.endTime = System.currentTimeMillis();
+        this.endTime = System.nanoTime();
+        this.allocatedAfter = threadBean.getTotalThreadAllocatedBytes();
+        this.gcCountAfter = getGcCount();
+        this.gcTimeAfter = getGcTime();
         this.memoryAfter = getUsedMemory();
+        this.ended = true;
+    }
+
+    public long getStageNanos(Stage stage) {
+        return stageTimes.get(stage).sum();
+    }
+
+    public Histogram getChunkLatency() {
+        return chunkLatency;
     }
+
+    public Histogram getChunkSizes() {
+        return chunkSizes;
+    }
+
     public void printReport() {
-        if (startTime == 0) {
+        if (!started) {
             System.out.println("[PerformanceMetrics] startMeasurement() çağrılmamış.");
             return;
         }
-        if (endTime == 0) {
+        if (!ended) {
             System.out.println("[PerformanceMetrics] endMeasurement() çağrılmamış. printReport() önce endMeasurement() çağırın.");
             return;
         }
 
-        long durationMs = endTime - startTime;
-        double durationSec = durationMs / 1000.0;
+        long durationNanos = endTime - startTime;
+        long durationMs = durationNanos / 1_000_000;
+        double durationSec = durationNanos / 1e9;
 
         long memoryDiffBytes = memoryAfter - memoryBefore;
         double memoryBeforeMB = memoryBefore / (1024.0 * 1024.0);
         double memoryAfterMB  = memoryAfter  / (1024.0 * 1024.0);
         double memoryDiffMB   = memoryDiffBytes / (1024.0 * 1024.0);
 
-        long fileSizeBytes = -1;
+        long fileSizeBytes = inputBytes;
         try {
-            if (fileName != null && !fileName.isEmpty()) {
+            if (fileSizeBytes < 0 && fileName != null && !fileName.isEmpty()) {
                 Path p = Path.of(fileName);
                 if (Files.exists(p)) {
                     fileSizeBytes = Files.size(p);
@@ -70,8 +190,14 @@ public class PerformanceMetrics {
         System.out.println("File: " + (fileName == null ? "-" : fileName));
         System.out.println("Threads: " + threadCount);
         System.out.printf("Processing time: %d ms (%.3f s)%n", durationMs, durationSec);
+        if (firstChunkTime != 0) {
+            System.out.printf("Time to first chunk: %.3f ms%n", (firstChunkTime - startTime) / NANOS_PER_MS);
+        }
         System.out.printf("Memory before: %s MB, after: %s MB, delta: %s MB%n",
                 df.format(memoryBeforeMB), df.format(memoryAfterMB), df.format(memoryDiffMB));
+        System.out.printf("Allocated: %s MB, GC: %d collections, %d ms%n",
+                df.format((allocatedAfter - allocatedBefore) / (1024.0 * 1024.0)),
+                gcCountAfter - gcCountBefore, gcTimeAfter - gcTimeBefore);
         if (fileSizeBytes >= 0) {
             System.out.printf("File size: %d bytes (%.2f MB)%n", fileSizeBytes, fileSizeBytes / (1024.0 * 1024.0));
         } else {
@@ -86,10 +212,86 @@ public class PerformanceMetrics {
         } else {
             System.out.println("Throughput: unavailable (süre 0 veya dosya boyutu bilinmiyor)");
         }
+        printReadThroughput(df);
+
+        printChunkLatency();
+        printChunkSizes();
+        printStageBreakdown();
 
         System.out.println("===========================");
     }
 
+    private void printReadThroughput(DecimalFormat df) {
+        long bytes = bytesRead.sum();
+        long nanos = stageTimes.get(Stage.READ).sum();
+        if (bytes == 0 || nanos == 0) {
+            return;
+        }
+        System.out.printf("Read throughput: %s MB/s (%s MB in %.3f ms of read time)%n",
+                df.format(bytes / (nanos / 1e9) / (1024.0 * 1024.0)),
+                df.format(bytes / (1024.0 * 1024.0)), nanos / NANOS_PER_MS);
+    }
+
+    private void printChunkLatency() {
+        if (chunkLatency.getCount() == 0) {
+            return;
+        }
+        System.out.printf("Chunk latency (n=%d): p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                chunkLatency.getCount(),
+                chunkLatency.getPercentile(50) / NANOS_PER_MS,
+                chunkLatency.getPercentile(90) / NANOS_PER_MS,
+                chunkLatency.getPercentile(99) / NANOS_PER_MS,
+                chunkLatency.getMax() / NANOS_PER_MS);
+    }
+
+    private void printChunkSizes() {
+        if (chunkSizes.getCount() == 0) {
+            return;
+        }
+        System.out.printf("Chunk size (n=%d): mean %.1f KB, p50 %.1f KB, p90 %.1f KB, p99 %.1f KB, max %.1f KB%n",
+                chunkSizes.getCount(),
+                chunkSizes.getMean() / 1024.0,
+                chunkSizes.getPercentile(50) / 1024.0,
+                chunkSizes.getPercentile(90) / 1024.0,
+                chunkSizes.getPercentile(99) / 1024.0,
+                chunkSizes.getMax() / 1024.0);
+    }
+
+    private void printStageBreakdown() {
+        long total = 0;
+        for (LongAdder time : stageTimes.values()) {
+            total += time.sum();
+        }
+        if (total == 0) {
+            return;
+        }
+
+        // Süreler thread'ler üzerinden toplandığı için wall-clock süresini aşabilir
+        System.out.println("Stage breakdown (summed over threads):");
+        for (Stage stage : Stage.values()) {
+            long nanos = stageTimes.get(stage).sum();
+            if (nanos == 0) continue;
+            System.out.printf("  %-24s %10.3f ms  (%5.1f%%)%n",
+                    stage.getLabel(), nanos / NANOS_PER_MS, nanos * 100.0 / total);
+        }
+    }
+
+    private long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private long getGcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
     private long getUsedMemory() {
         Runtime runtime = Runtime.getRuntime();
         return runtime.totalMemory() - runtime.freeMemory();
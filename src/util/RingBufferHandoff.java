@@ -0,0 +1,100 @@
+package util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tek producer / çok consumer'lı, önceden ayrılmış slotlara sahip kilitsiz ring buffer.
+ * <p>
+ * Her slotun bir sıra numarası vardır: slot, producer'ın yazacağı sıraya eşitse boştur.
+ * Producer slotu doldurup volatile {@code published} sayacını ilerletir; consumer'lar
+ * {@code claimed} sayacını CAS ile ilerleterek tek seferde birden çok slotu (batch) sahiplenir,
+ * okuduktan sonra slotu bir sonraki tur için serbest bırakır.
+ */
+public class RingBufferHandoff<T> implements ChunkHandoff<T> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    private volatile long published;                 // yayınlanan eleman sayısı (sadece producer yazar)
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile boolean completed;
+
+    public RingBufferHandoff(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be > 0");
+
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1; // 2'nin kuvvetine yuvarla
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public void put(T item) throws InterruptedException {
+        long sequence = published;
+        int index = (int) sequence & mask;
+
+        // Önceki turdaki eleman henüz tüketilmediyse bekle
+        int attempt = 0;
+        while (sequences.get(index) != sequence) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            waitStrategy.idle(attempt++);
+        }
+
+        slots[index] = item;
+        published = sequence + 1;
+    }
+
+    @Override
+    public void complete() {
+        completed = true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int takeBatch(List<T> batch, int max) throws InterruptedException {
+        int attempt = 0;
+        while (true) {
+            long current = claimed.get();
+            long available = published - current;
+
+            if (available > 0) {
+                int count = (int) Math.min(available, max);
+                if (claimed.compareAndSet(current, current + count)) {
+                    for (long sequence = current; sequence < current + count; sequence++) {
+                        int index = (int) sequence & mask;
+                        batch.add((T) slots[index]);
+                        slots[index] = null;
+                        sequences.set(index, sequence + slots.length); // slot bir sonraki tur için boş
+                    }
+                    return count;
+                }
+                continue; // Başka bir consumer kaptı, tekrar dene
+            }
+
+            // completed, son published yazımından sonra set edilir; true görüldüyse published güncel
+            if (completed && claimed.get() >= published) {
+                return -1;
+            }
+            if (Thread.interrupted()) throw new InterruptedException();
+            waitStrategy.idle(attempt++);
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(published - claimed.get(), 0);
+    }
+
+    @Override
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,60 @@
+package util;
+
+/**
+ * {@link ByteScanner}'ın byte byte gerçeklemesi; Vector API olmadan her JVM'de çalışır.
+ */
+public final class ScalarByteScanner implements ByteScanner {
+
+    static final ScalarByteScanner INSTANCE = new ScalarByteScanner();
+
+    private ScalarByteScanner() {
+    }
+
+    @Override
+    public int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = to - 1; i >= from; i--) {
+            if (bytes[i] == value) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public long wordMask(byte[] bytes, int offset) {
+        long mask = 0;
+        for (int i = 0; i < BLOCK; i++) {
+            int b = bytes[offset + i];
+            // (b | 0x20) - 'a' < 26 işaretsiz: büyük ya da küçük harf
+            boolean letter = Integer.compareUnsigned(((b | 0x20) & 0xFF) - 'a', 26) < 0;
+            boolean digit = Integer.compareUnsigned((b & 0xFF) - '0', 10) < 0;
+            if (letter || digit) mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    @Override
+    public long nonAsciiMask(byte[] bytes, int offset) {
+        long mask = 0;
+        for (int i = 0; i < BLOCK; i++) {
+            if (bytes[offset + i] < 0) mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,257 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Space-Saving sık eleman özeti: en fazla capacity eleman izlenir. İzlenmeyen bir eleman geldiğinde
+ * sayısı en küçük olan izlenen elemanın yerini alır ve onun sayısını devralır, bu yüzden sayılar
+ * gerçek sayının üst sınırıdır; count - error ise alt sınırdır. Gerçek sayısı toplam / capacity'den
+ * büyük her eleman kesinlikle özettedir.
+ * <p>
+ * Elemanlar 64 bit hash'leriyle tanınır; kelime String'i sadece izlenmeye başlanırken oluşturulur.
+ * Sayılar indeksli bir min-heap'te tutulur, artırma ve yer değiştirme O(log capacity)'dir.
+ * Thread-safe değildir.
+ */
+public class SpaceSaving {
+
+    private static final Comparator<Entry> BY_COUNT_DESC = Comparator.<Entry>comparingLong(e -> e.count)
+            .reversed().thenComparing(e -> e.word);
+
+    private final int capacity;
+
+    // Eleman başına diziler, indeks = eleman id'si (yer değiştirmede id yeniden kullanılır)
+    private final String[] words;
+    private final long[] hashes;
+    private final long[] counts;
+    private final long[] errors;
+    private final int[] heapPosition;
+
+    private final int[] heap;            // Sayıya göre min-heap, eleman id'leri
+    private int size;
+
+    // hash -> id + 1 (0 = boş), linear probing
+    private final long[] tableHashes;
+    private final int[] tableIds;
+    private final int tableMask;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be > 0");
+        this.capacity = capacity;
+        this.words = new String[capacity];
+        this.hashes = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heapPosition = new int[capacity];
+        this.heap = new int[capacity];
+
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.tableHashes = new long[tableSize];
+        this.tableIds = new int[tableSize];
+        this.tableMask = tableSize - 1;
+    }
+
+    // Tokenizer buffer'ından; String sadece eleman izlenmeye başlarken oluşturulur
+    public void offer(long hash, char[] buffer, int length, long count) {
+        int id = find(hash);
+        if (id >= 0) {
+            increment(id, count);
+        } else {
+            insert(hash, new String(buffer, 0, length), count, 0);
+        }
+    }
+
+    public void offer(long hash, String word, long count) {
+        int id = find(hash);
+        if (id >= 0) {
+            increment(id, count);
+        } else {
+            insert(hash, word, count, 0);
+        }
+    }
+
+    /**
+     * İki özeti birleştirir (mergeable summaries): bir özette olmayan elemanın o özetteki sayısı,
+     * özet doluysa en küçük sayı kadar kabul edilir. Birleşimden en büyük capacity eleman kalır.
+     */
+    public void merge(SpaceSaving other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Cannot merge Space-Saving summaries with different capacity");
+        }
+        long thisMin = size == capacity ? counts[heap[0]] : 0;
+        long otherMin = other.size == other.capacity ? other.counts[other.heap[0]] : 0;
+
+        List<Entry> combined = new ArrayList<>(size + other.size);
+        for (int i = 0; i < size; i++) {
+            int otherId = other.find(hashes[i]);
+            if (otherId >= 0) {
+                combined.add(new Entry(words[i], hashes[i], counts[i] + other.counts[otherId],
+                        errors[i] + other.errors[otherId]));
+            } else {
+                combined.add(new Entry(words[i], hashes[i], counts[i] + otherMin, errors[i] + otherMin));
+            }
+        }
+        for (int i = 0; i < other.size; i++) {
+            if (find(other.hashes[i]) < 0) {
+                combined.add(new Entry(other.words[i], other.hashes[i], other.counts[i] + thisMin,
+                        other.errors[i] + thisMin));
+            }
+        }
+        combined.sort(BY_COUNT_DESC);
+
+        clear();
+        for (int i = 0; i < Math.min(capacity, combined.size()); i++) {
+            Entry entry = combined.get(i);
+            insert(entry.hash, entry.word, entry.count, entry.error);
+        }
+    }
+
+    // Sayıya (üst sınır) göre azalan, eşitlikte alfabetik
+    public List<Entry> entries() {
+        List<Entry> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Entry(words[i], hashes[i], counts[i], errors[i]));
+        }
+        result.sort(BY_COUNT_DESC);
+        return result;
+    }
+
+    public int size() { return size; }
+    public int getCapacity() { return capacity; }
+
+    // Kelime String'leri hariç
+    public long getMemoryBytes() {
+        return capacity * (8L + 8 + 8 + 4 + 4 + 8) + tableHashes.length * (8L + 4);
+    }
+
+    private void increment(int id, long count) {
+        counts[id] += count;
+        siftDown(heapPosition[id]);
+    }
+
+    private void insert(long hash, String word, long count, long error) {
+        int id;
+        if (size < capacity) {
+            id = size;
+            heap[size] = id;
+            heapPosition[id] = size;
+            size++;
+        } else {
+            // En küçük sayılı elemanın yerini al, sayısını hata olarak devral
+            id = heap[0];
+            remove(hashes[id]);
+            error += counts[id];
+            count += counts[id];
+        }
+        words[id] = word;
+        hashes[id] = hash;
+        counts[id] = count;
+        errors[id] = error;
+        put(hash, id);
+
+        siftUp(heapPosition[id]);
+        siftDown(heapPosition[id]);
+    }
+
+    private void clear() {
+        Arrays.fill(words, null);
+        Arrays.fill(tableIds, 0);
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[id]) break;
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(id, position);
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) break;
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) child++;
+            if (counts[heap[child]] >= counts[id]) break;
+            move(heap[child], position);
+            position = child;
+        }
+        move(id, position);
+    }
+
+    private void move(int id, int position) {
+        heap[position] = id;
+        heapPosition[id] = position;
+    }
+
+    private int find(long hash) {
+        int slot = slotFor(hash);
+        while (tableIds[slot] != 0) {
+            if (tableHashes[slot] == hash) return tableIds[slot] - 1;
+            slot = (slot + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    private void put(long hash, int id) {
+        int slot = slotFor(hash);
+        while (tableIds[slot] != 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        tableHashes[slot] = hash;
+        tableIds[slot] = id + 1;
+    }
+
+    // Linear probing'de silme: boşluktan sonraki kayıtlar kendi yerlerine geri kaydırılır
+    private void remove(long hash) {
+        int slot = slotFor(hash);
+        while (tableHashes[slot] != hash || tableIds[slot] == 0) {
+            slot = (slot + 1) & tableMask;
+        }
+        tableIds[slot] = 0;
+
+        int next = (slot + 1) & tableMask;
+        while (tableIds[next] != 0) {
+            int home = slotFor(tableHashes[next]);
+            // home, (slot, next] aralığında değilse kayıt boşluğa taşınabilir
+            if (((next - home) & tableMask) >= ((next - slot) & tableMask)) {
+                tableHashes[slot] = tableHashes[next];
+                tableIds[slot] = tableIds[next];
+                tableIds[next] = 0;
+                slot = next;
+            }
+            next = (next + 1) & tableMask;
+        }
+    }
+
+    private int slotFor(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & tableMask;
+    }
+
+    // İzlenen bir eleman: count gerçek sayının üst sınırı, count - error alt sınırı
+    public static class Entry {
+        private final String word;
+        private final long hash;
+        private final long count;
+        private final long error;
+
+        Entry(String word, long hash, long count, long error) {
+            this.word = word;
+            this.hash = hash;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getWord() { return word; }
+        public long getHash() { return hash; }
+        public long getCount() { return count; }
+        public long getError() { return error; }
+        public long getGuaranteedCount() { return count - error; }
+    }
+}
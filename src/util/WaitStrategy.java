@@ -0,0 +1,29 @@
+package util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kilitsiz kanallarda eleman (veya boş yer) beklerken ne yapılacağı.
+ * SPIN en düşük gecikmeyi verir ama bir çekirdeği meşgul eder; PARK CPU'yu bırakır
+ * ama uyanma gecikmesi ekler; YIELD ikisinin arasındadır.
+ */
+public enum WaitStrategy {
+    SPIN,
+    YIELD,
+    PARK;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000;
+
+    // attempt: aynı bekleme içinde kaçıncı deneme olduğu (0'dan başlar)
+    public void idle(int attempt) {
+        if (this == SPIN || attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (this == YIELD || attempt < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
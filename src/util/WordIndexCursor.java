@@ -0,0 +1,110 @@
+package util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Index dosyasının veri bölümünü baştan sona, dosyayı map etmeden sabit boyutlu bir buffer'a
+ * okuyarak gezer. Bellekte sadece buffer ve o anki anahtar tutulur, pozisyonlar long olduğu için
+ * dosya boyutu sınırı yoktur; {@link WordIndexMerger} spill run'larını bununla okur.
+ */
+final class WordIndexCursor implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final long dataEnd;        // Veri bölümünün sonu (= index başlangıcı)
+    private long loadedUntil = 4;      // Buffer'a okunan son byte'ın arkası; veri MAGIC'ten sonra başlar
+
+    byte[] key = new byte[64];
+    int keyLength;
+    long count;
+
+    WordIndexCursor(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 4 + WordIndexWriter.FOOTER_SIZE) throw new IOException("Not a word index: " + file);
+
+            ByteBuffer header = readAt(0, 4);
+            ByteBuffer footer = readAt(size - WordIndexWriter.FOOTER_SIZE, WordIndexWriter.FOOTER_SIZE);
+            if (header.getInt(0) != WordIndexWriter.MAGIC
+                    || footer.getInt(WordIndexWriter.FOOTER_SIZE - 4) != WordIndexWriter.MAGIC) {
+                throw new IOException("Not a word index: " + file);
+            }
+            this.dataEnd = footer.getLong(0);
+            buffer.limit(0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Sıradaki kayda geçer; veri bölümü bittiyse false
+    boolean next() throws IOException {
+        if (!buffer.hasRemaining() && loadedUntil >= dataEnd) return false;
+
+        int shared = (int) readVarLong();
+        int suffix = (int) readVarLong();
+        if (shared + suffix > key.length) {
+            key = Arrays.copyOf(key, Math.max(key.length * 2, shared + suffix));
+        }
+        int offset = shared;
+        while (offset < shared + suffix) {
+            if (!buffer.hasRemaining()) fill();
+            int length = Math.min(buffer.remaining(), shared + suffix - offset);
+            buffer.get(key, offset, length);
+            offset += length;
+        }
+        keyLength = shared + suffix;
+        count = readVarLong();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (!buffer.hasRemaining()) fill();
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+            shift += 7;
+        }
+    }
+
+    // Veri bölümünün sıradaki kısmını buffer'a okur
+    private void fill() throws IOException {
+        int length = (int) Math.min(BUFFER_SIZE, dataEnd - loadedUntil);
+        if (length <= 0) throw new EOFException("Truncated word index record");
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, loadedUntil + buffer.position()) < 0) {
+                throw new EOFException("Word index is shorter than its footer says");
+            }
+        }
+        buffer.flip();
+        loadedUntil += length;
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        ByteBuffer target = ByteBuffer.allocate(length);
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                throw new EOFException("Word index is shorter than its footer says");
+            }
+        }
+        return target;
+    }
+}
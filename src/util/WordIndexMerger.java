@@ -0,0 +1,63 @@
+package util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Birden çok index dosyasını tek bir index'te birleştirir. Girdiler sıralı olduğu için birleştirme
+ * akış halinde yapılır (k-way merge): girdiler map edilmeden {@link WordIndexCursor} ile sırayla
+ * okunur, bellekte her girdi için sadece bir okuma buffer'ı ve o anki kayıt tutulur, aynı kelimenin
+ * sayıları toplanır.
+ */
+public final class WordIndexMerger {
+
+    private WordIndexMerger() {
+    }
+
+    public static void merge(List<Path> inputs, Path output) throws IOException {
+        List<WordIndexCursor> cursors = new ArrayList<>();
+        try {
+            PriorityQueue<WordIndexCursor> heap = new PriorityQueue<>(
+                    (a, b) -> Arrays.compareUnsigned(a.key, 0, a.keyLength, b.key, 0, b.keyLength));
+            for (Path input : inputs) {
+                WordIndexCursor cursor = new WordIndexCursor(input);
+                cursors.add(cursor);
+                if (cursor.next()) {
+                    heap.add(cursor);
+                }
+            }
+
+            try (WordIndexWriter writer = new WordIndexWriter(output)) {
+                while (!heap.isEmpty()) {
+                    WordIndexCursor smallest = heap.poll();
+                    byte[] word = Arrays.copyOf(smallest.key, smallest.keyLength);
+                    long count = smallest.count;
+                    advance(heap, smallest);
+
+                    // Aynı kelime diğer girdilerde de varsa sayıları topla
+                    while (!heap.isEmpty() && Arrays.equals(
+                            heap.peek().key, 0, heap.peek().keyLength, word, 0, word.length)) {
+                        WordIndexCursor same = heap.poll();
+                        count += same.count;
+                        advance(heap, same);
+                    }
+                    writer.add(word, count);
+                }
+            }
+        } finally {
+            for (WordIndexCursor cursor : cursors) {
+                cursor.close();
+            }
+        }
+    }
+
+    private static void advance(PriorityQueue<WordIndexCursor> heap, WordIndexCursor cursor) throws IOException {
+        if (cursor.next()) {
+            heap.add(cursor);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * {@link WordIndexWriter} ile yazılmış index dosyasını okur. Dosya 1 GB'lık pencereler halinde mmap
+ * edilir (tek bir MappedByteBuffer 2 GB'ı aşamaz), pozisyonlar long'dur; bellekte sadece seyrek index
+ * (her bloğun ilk anahtarı) tutulur, sorgular ilgili bloğu yerinde decode eder.
+ * Okumalar mutlak pozisyonla yapıldığı için aynı reader birden çok thread'den kullanılabilir.
+ */
+public class WordIndexReader implements AutoCloseable {
+
+    public interface EntryConsumer {
+        void accept(String word, long count);
+    }
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long dataEnd;               // Veri bölümünün sonu (= index başlangıcı)
+    private final byte[][] blockKeys;
+    private final long[] blockOffsets;
+    private final long topOffset;
+    private final int topCount;
+    private final long entryCount;
+    private final long totalCount;
+
+    public WordIndexReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 4 + WordIndexWriter.FOOTER_SIZE) throw new IOException("Not a word index: " + file);
+            this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+            }
+
+            long footer = size - WordIndexWriter.FOOTER_SIZE;
+            if (getInt(0) != WordIndexWriter.MAGIC || getInt(size - 4) != WordIndexWriter.MAGIC) {
+                throw new IOException("Not a word index: " + file);
+            }
+            this.dataEnd = getLong(footer);
+            int blockCount = getInt(footer + 8);
+            this.topOffset = getLong(footer + 12);
+            this.topCount = getInt(footer + 20);
+            this.entryCount = getLong(footer + 24);
+            this.totalCount = getLong(footer + 32);
+
+            // Seyrek index'i belleğe al
+            this.blockKeys = new byte[blockCount][];
+            this.blockOffsets = new long[blockCount];
+            long[] pos = {dataEnd};
+            for (int b = 0; b < blockCount; b++) {
+                byte[] key = new byte[(int) readVarLong(pos)];
+                get(pos[0], key, 0, key.length);
+                pos[0] += key.length;
+                blockKeys[b] = key;
+                blockOffsets[b] = readVarLong(pos);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() { return entryCount; }
+    public long getTotalCount() { return totalCount; }
+
+    // Kelimenin sayısı, yoksa 0
+    public long get(String word) {
+        byte[] key = word.getBytes(StandardCharsets.UTF_8);
+        int block = findBlock(key);
+        if (block < 0) return 0;
+
+        Cursor cursor = new Cursor(blockOffsets[block]);
+        for (int i = 0; i < WordIndexWriter.BLOCK_ENTRIES && cursor.next(); i++) {
+            int cmp = Arrays.compareUnsigned(cursor.key, 0, cursor.keyLength, key, 0, key.length);
+            if (cmp == 0) return cursor.count;
+            if (cmp > 0) break;
+        }
+        return 0;
+    }
+
+    // prefix ile başlayan kelimeler, sıralı; sadece eşleşen aralık decode edilir
+    public void scanPrefix(String prefix, EntryConsumer consumer) {
+        byte[] key = prefix.getBytes(StandardCharsets.UTF_8);
+        int block = Math.max(findBlock(key), 0);
+        if (blockOffsets.length == 0) return;
+
+        Cursor cursor = new Cursor(blockOffsets[block]);
+        while (cursor.next()) {
+            if (startsWith(cursor, key)) {
+                consumer.accept(cursor.word(), cursor.count);
+            } else if (Arrays.compareUnsigned(cursor.key, 0, cursor.keyLength, key, 0, key.length) > 0) {
+                break;
+            }
+        }
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            consumer.accept(cursor.word(), cursor.count);
+        }
+    }
+
+    /**
+     * En sık k kelime (eşitlikte alfabetik). k yazılı top bölümüne sığıyorsa oradan okunur,
+     * sığmıyorsa tüm kayıtlar k boyutlu bir heap ile taranır.
+     */
+    public List<Map.Entry<String, Long>> top(int k) {
+        List<Map.Entry<String, Long>> result = new ArrayList<>();
+        if (k <= topCount || topCount == entryCount) {
+            long[] pos = {topOffset};
+            for (int i = 0; i < Math.min(k, topCount); i++) {
+                byte[] key = new byte[(int) readVarLong(pos)];
+                get(pos[0], key, 0, key.length);
+                pos[0] += key.length;
+                result.add(new AbstractMap.SimpleImmutableEntry<>(
+                        new String(key, StandardCharsets.UTF_8), readVarLong(pos)));
+            }
+            return result;
+        }
+
+        PriorityQueue<WordIndexWriter.TopEntry> heap = new PriorityQueue<>(WordIndexWriter.TOP_ORDER);
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            WordIndexWriter.TopEntry entry = new WordIndexWriter.TopEntry(
+                    Arrays.copyOf(cursor.key, cursor.keyLength), cursor.count);
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (WordIndexWriter.TOP_ORDER.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<WordIndexWriter.TopEntry> sorted = new ArrayList<>(heap);
+        sorted.sort(WordIndexWriter.TOP_ORDER.reversed());
+        for (WordIndexWriter.TopEntry entry : sorted) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(new String(entry.word, StandardCharsets.UTF_8), entry.count));
+        }
+        return result;
+    }
+
+    // Tüm kayıtları sıralı gezen cursor
+    private Cursor cursor() {
+        return new Cursor(blockOffsets.length == 0 ? dataEnd : blockOffsets[0]);
+    }
+
+    // İlk anahtarı key'den küçük ya da eşit olan son blok; yoksa -1
+    private int findBlock(byte[] key) {
+        int low = 0;
+        int high = blockKeys.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(blockKeys[mid], key) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean startsWith(Cursor cursor, byte[] prefix) {
+        return cursor.keyLength >= prefix.length
+                && Arrays.equals(cursor.key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private long readVarLong(long[] pos) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = getByte(pos[0]++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+            shift += 7;
+        }
+    }
+
+    // ================================
+    // SEGMENT ACCESS
+    // ================================
+    private byte getByte(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    // Pencere sınırını aşan aralıklar parça parça kopyalanır
+    private void get(long position, byte[] target, int offset, int length) {
+        while (length > 0) {
+            MappedByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+            int index = (int) (position & SEGMENT_MASK);
+            int chunk = Math.min(length, segment.limit() - index);
+            segment.get(index, target, offset, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    // Big-endian; sadece başlık ve footer için
+    private int getInt(long position) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (getByte(position + i) & 0xFF);
+        }
+        return value;
+    }
+
+    private long getLong(long position) {
+        return ((long) getInt(position) << 32) | (getInt(position + 4) & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Veri bölümünü sırayla decode eder; anahtar tamponu kayıtlar arasında yeniden kullanılır
+    private class Cursor {
+        private final long[] pos = new long[1];
+        byte[] key = new byte[64];
+        int keyLength;
+        long count;
+
+        Cursor(long offset) {
+            pos[0] = offset;
+        }
+
+        boolean next() {
+            if (pos[0] >= dataEnd) return false;
+
+            int shared = (int) readVarLong(pos);
+            int suffix = (int) readVarLong(pos);
+            if (shared + suffix > key.length) {
+                key = Arrays.copyOf(key, Math.max(key.length * 2, shared + suffix));
+            }
+            get(pos[0], key, shared, suffix);
+            pos[0] += suffix;
+            keyLength = shared + suffix;
+            count = readVarLong(pos);
+            return true;
+        }
+
+        String word() {
+            return new String(key, 0, keyLength, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package util;
+
+import model.WordCounts;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Kelime sayımlarını sıkıştırılmış, sıralı bir index dosyasına yazar.
+ * <pre>
+ * MAGIC
+ * veri     : her kayıt [varint ortak önek][varint sonek uzunluğu][sonek (UTF-8)][varint sayı],
+ *            her BLOCK_ENTRIES kayıtta bir blok başlar ve blok başında ortak önek 0'dır
+ * index    : her blok için [varint anahtar uzunluğu][ilk anahtar][varint blok offset'i]
+ * top      : en sık TOP_ENTRIES kelime, sayıya göre azalan [varint uzunluk][anahtar][varint sayı]
+ * footer   : indexOffset, blockCount, topOffset, topCount, entryCount, totalCount, MAGIC
+ * </pre>
+ * Kelimeler UTF-8 byte sırasına göre (işaretsiz) kesin artan sırada eklenmelidir.
+ */
+public class WordIndexWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x57495831;          // "WIX1"
+    static final int BLOCK_ENTRIES = 64;
+    static final int TOP_ENTRIES = 1024;
+    static final int FOOTER_SIZE = 8 + 4 + 8 + 4 + 8 + 8 + 4;
+
+    // Az sayılı önce, eşitlikte alfabetik olarak büyük önce: heap'in tepesi ilk atılacak kayıttır
+    static final Comparator<TopEntry> TOP_ORDER = Comparator.<TopEntry>comparingLong(e -> e.count)
+            .thenComparing((a, b) -> Arrays.compareUnsigned(b.word, a.word));
+
+    private final OutputStream out;
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final PriorityQueue<TopEntry> top = new PriorityQueue<>(TOP_ORDER);
+
+    private long offset;
+    private byte[] previous;
+    private int blockCount;
+    private long entryCount;
+    private long totalCount;
+
+    public WordIndexWriter(Path file) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        writeInt(MAGIC);
+    }
+
+    // Sayımları sıralayıp tek seferde yazar
+    public static void write(WordCounts counts, Path file) throws IOException {
+        List<TopEntry> entries = new ArrayList<>(counts.size());
+        counts.forEach((word, count) -> entries.add(new TopEntry(word.getBytes(StandardCharsets.UTF_8), count)));
+        entries.sort((a, b) -> Arrays.compareUnsigned(a.word, b.word));
+
+        try (WordIndexWriter writer = new WordIndexWriter(file)) {
+            for (TopEntry entry : entries) {
+                writer.add(entry.word, entry.count);
+            }
+        }
+    }
+
+    public void add(String word, long count) throws IOException {
+        add(word.getBytes(StandardCharsets.UTF_8), count);
+    }
+
+    // word, çağrıdan sonra değiştirilmemelidir
+    public void add(byte[] word, long count) throws IOException {
+        if (count <= 0) throw new IllegalArgumentException("Count must be > 0");
+        if (previous != null && Arrays.compareUnsigned(previous, word) >= 0) {
+            throw new IllegalArgumentException("Words must be added in strictly increasing order: "
+                    + new String(word, StandardCharsets.UTF_8));
+        }
+
+        int shared = 0;
+        if (entryCount % BLOCK_ENTRIES == 0) {
+            // Blok başı: tam anahtar, seyrek index'e girer
+            writeVarLong(index, word.length);
+            index.write(word);
+            writeVarLong(index, offset);
+            blockCount++;
+        } else {
+            shared = Arrays.mismatch(previous, word);
+        }
+
+        offset += writeVarLong(out, shared);
+        offset += writeVarLong(out, word.length - shared);
+        out.write(word, shared, word.length - shared);
+        offset += word.length - shared;
+        offset += writeVarLong(out, count);
+
+        previous = word;
+        entryCount++;
+        totalCount += count;
+
+        TopEntry entry = new TopEntry(word, count);
+        if (top.size() < TOP_ENTRIES) {
+            top.add(entry);
+        } else if (TOP_ORDER.compare(entry, top.peek()) > 0) {
+            top.poll();
+            top.add(entry);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long indexOffset = offset;
+            index.writeTo(out);
+            offset += index.size();
+
+            long topOffset = offset;
+            List<TopEntry> sorted = new ArrayList<>(top);
+            sorted.sort(TOP_ORDER.reversed());
+            for (TopEntry entry : sorted) {
+                offset += writeVarLong(out, entry.word.length);
+                out.write(entry.word);
+                offset += entry.word.length;
+                offset += writeVarLong(out, entry.count);
+            }
+
+            writeLong(indexOffset);
+            writeInt(blockCount);
+            writeLong(topOffset);
+            writeInt(sorted.size());
+            writeLong(entryCount);
+            writeLong(totalCount);
+            writeInt(MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    // 7 bit'lik gruplar, düşük anlamlı önce; yazılan byte sayısını döner
+    static int writeVarLong(OutputStream stream, long value) throws IOException {
+        int written = 1;
+        while ((value & ~0x7FL) != 0) {
+            stream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+            written++;
+        }
+        stream.write((int) value);
+        return written;
+    }
+
+    private void writeInt(int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(value >>> shift);
+        }
+        offset += 4;
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    static class TopEntry {
+        final byte[] word;
+        final long count;
+
+        TopEntry(byte[] word, long count) {
+            this.word = word;
+            this.count = count;
+        }
+    }
+}